@@ -0,0 +1,74 @@
+package ru.hse.passwordkeeper.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Inserts the same number of rows keyed by random and by time-ordered UUIDs and prints throughput and the
+ * primary key index size. Lives outside the test tree and only compiles under the {@code ids-benchmark} profile:
+ * {@code mvn -Pids-benchmark test -Dtest=IdInsertBenchmark [-Dids.benchmark.rows=5000000]
+ * [-Dids.benchmark.url=jdbc:postgresql://... -Dids.benchmark.user=... -Dids.benchmark.password=...]}.
+ * The numbers only mean something on PostgreSQL; other databases report no index size.
+ */
+public class IdInsertBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    public void compareRandomAndTimeOrderedKeys() throws Exception {
+        String url = System.getProperty("ids.benchmark.url", "jdbc:postgresql://localhost:5432/passwordkeeper");
+        int rows = Integer.getInteger("ids.benchmark.rows", 1_000_000);
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("ids.benchmark.user", "postgres"),
+                System.getProperty("ids.benchmark.password", System.getenv("POSTGRES_PASSWORD")))) {
+            connection.setAutoCommit(false);
+            run(connection, "ids_benchmark_v4", rows, new RandomIdGenerator()::nextUuid);
+            run(connection, "ids_benchmark_v7", rows, new TimeOrderedIdGenerator()::nextUuid);
+        }
+    }
+
+    private static void run(Connection connection, String table, int rows, Supplier<UUID> ids) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (id uuid primary key, name varchar(255))");
+        }
+        connection.commit();
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("insert into " + table + " values (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "record " + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %d rows in %.1f s, %.0f rows/s, primary key index %s%n",
+                table, rows, seconds, rows / seconds, indexSize(connection, table));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table " + table);
+        }
+        connection.commit();
+    }
+
+    private static String indexSize(Connection connection, String table) throws Exception {
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return "n/a";
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(
+                     "select pg_size_pretty(pg_relation_size('" + table + "_pkey'))")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+}
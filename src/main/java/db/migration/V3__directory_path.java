@@ -0,0 +1,113 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adds the materialized path column to directory_entity and fills it from the parent links.
+ * Moves used to accept a directory being placed under its own descendant, so any cycle found
+ * in existing data is broken by turning the directory that closes it into a root.
+ */
+public class V3__directory_path extends BaseJavaMigration {
+    private static final Logger log = LoggerFactory.getLogger(V3__directory_path.class);
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table directory_entity add column path varchar(2048)");
+        }
+
+        Map<String, String> parents = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select id, parent_id from directory_entity")) {
+            while (rows.next()) parents.put(rows.getString(1), rows.getString(2));
+        }
+
+        Set<String> detached = breakCycles(parents);
+        if (!detached.isEmpty()) {
+            log.warn("Directories moved to the root to break parent cycles: " + detached);
+            try (PreparedStatement update =
+                         connection.prepareStatement("update directory_entity set parent_id = null where id = ?")) {
+                for (String id : detached) {
+                    update.setString(1, id);
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+        }
+
+        Map<String, String> paths = new HashMap<>();
+        try (PreparedStatement update =
+                     connection.prepareStatement("update directory_entity set path = ? where id = ?")) {
+            int pending = 0;
+            for (String id : parents.keySet()) {
+                update.setString(1, pathOf(id, parents, paths));
+                update.setString(2, id);
+                update.addBatch();
+                if (++pending % BATCH_SIZE == 0) update.executeBatch();
+            }
+            update.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table directory_entity alter column path set not null");
+        }
+    }
+
+    private static Set<String> breakCycles(Map<String, String> parents) {
+        Set<String> detached = new HashSet<>();
+        Set<String> acyclic = new HashSet<>();
+        for (String start : parents.keySet()) {
+            Set<String> chain = new HashSet<>();
+            String current = start;
+            while (current != null && !acyclic.contains(current)) {
+                if (!chain.add(current)) {
+                    parents.put(current, null);
+                    detached.add(current);
+                    break;
+                }
+                current = parents.get(current);
+            }
+            acyclic.addAll(chain);
+        }
+        return detached;
+    }
+
+    private static String pathOf(String id, Map<String, String> parents, Map<String, String> paths) {
+        Deque<String> chain = new ArrayDeque<>();
+        String current = id;
+        String prefix = "/";
+        while (current != null) {
+            String known = paths.get(current);
+            if (known != null) {
+                prefix = known;
+                break;
+            }
+            chain.push(current);
+            current = parents.get(current);
+        }
+        StringBuilder path = new StringBuilder(prefix);
+        while (!chain.isEmpty()) {
+            String next = chain.pop();
+            path.append(next).append('/');
+            paths.put(next, path.toString());
+        }
+        return paths.get(id);
+    }
+}
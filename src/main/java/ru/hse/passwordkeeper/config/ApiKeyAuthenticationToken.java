@@ -0,0 +1,24 @@
+package ru.hse.passwordkeeper.config;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public class ApiKeyAuthenticationToken extends AbstractAuthenticationToken {
+    private final UserDetails principal;
+
+    public ApiKeyAuthenticationToken(UserDetails principal) {
+        super(principal.getAuthorities());
+        this.principal = principal;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return principal;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.hse.passwordkeeper.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+@RequiredArgsConstructor
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private final AuthenticationProvider delegate;
+    private final VerifiedCredentialsCache credentialsCache;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String login = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (login == null || credentials == null) return delegate.authenticate(authentication);
+
+        String password = credentials.toString();
+        UserDetails cached = credentialsCache.get(login, password);
+        if (cached != null) {
+            return UsernamePasswordAuthenticationToken.authenticated(cached, null, cached.getAuthorities());
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails user) {
+            credentialsCache.put(login, password, user);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
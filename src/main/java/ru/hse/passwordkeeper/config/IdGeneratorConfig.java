@@ -0,0 +1,23 @@
+package ru.hse.passwordkeeper.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import ru.hse.passwordkeeper.utils.Ids;
+import ru.hse.passwordkeeper.utils.RandomIdGenerator;
+import ru.hse.passwordkeeper.utils.TimeOrderedIdGenerator;
+
+@Configuration
+public class IdGeneratorConfig {
+    @Value("${ids.generator:time_ordered}")
+    private String generator;
+
+    @PostConstruct
+    public void setUp() {
+        switch (generator) {
+            case "time_ordered" -> Ids.use(new TimeOrderedIdGenerator());
+            case "random" -> Ids.use(new RandomIdGenerator());
+            default -> throw new IllegalStateException("Unknown id generator: " + generator);
+        }
+    }
+}
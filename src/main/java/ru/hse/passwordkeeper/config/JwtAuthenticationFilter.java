@@ -1,11 +1,13 @@
 package ru.hse.passwordkeeper.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
@@ -14,10 +16,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import ru.hse.passwordkeeper.domain.entity.Role;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
 import ru.hse.passwordkeeper.service.JwtService;
 import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.service.impl.JwtServiceImpl;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -26,6 +32,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserService userService;
 
+    @Value("${token.claims_only.enabled:false}")
+    private boolean claimsOnly;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
@@ -33,7 +42,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String login;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -41,13 +49,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        login = jwtService.extractLogin(jwt);
+        Optional<Claims> claims = jwtService.verifyToken(jwt);
+        String login = claims.map(Claims::getSubject).orElse(null);
 
-        if (!login.isEmpty()
+        if (login != null && !login.isEmpty()
                 && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails user = userService.userDetailsService().loadUserByUsername(login);
+            UserDetails user = claimsOnly
+                    ? userFromClaims(claims.get())
+                    : userService.userDetailsService().loadUserByUsername(login);
 
-            if (jwtService.isTokenValid(jwt, user)) {
+            if (jwtService.isTokenValid(claims.get(), user)) {
                 log.info("Valid token");
                 SecurityContext context = SecurityContextHolder.createEmptyContext();
                 UsernamePasswordAuthenticationToken authToken =
@@ -62,4 +73,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails userFromClaims(Claims claims) {
+        String role = claims.get(JwtServiceImpl.ROLE_CLAIM, String.class);
+        if (role == null || claims.get(JwtServiceImpl.VERSION_CLAIM) == null) {
+            return userService.userDetailsService().loadUserByUsername(claims.getSubject());
+        }
+        UserEntity user = new UserEntity();
+        user.setLogin(claims.getSubject());
+        user.setUserRole(Role.valueOf(role));
+        user.setTokenVersion(userService.getTokenVersion(claims.getSubject()));
+        return user;
+    }
 }
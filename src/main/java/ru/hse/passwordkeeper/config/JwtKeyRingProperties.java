@@ -0,0 +1,32 @@
+package ru.hse.passwordkeeper.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "token.signing")
+public class JwtKeyRingProperties {
+    private String key;
+
+    private String activeKid;
+
+    private List<KeyProperties> keys = new ArrayList<>();
+
+    @Data
+    public static class KeyProperties {
+        private String kid;
+
+        private String algorithm = "HS256";
+
+        private String secret;
+
+        private String privateKey;
+
+        private String publicKey;
+    }
+}
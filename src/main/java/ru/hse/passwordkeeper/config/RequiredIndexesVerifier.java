@@ -0,0 +1,65 @@
+package ru.hse.passwordkeeper.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "schema.index_check.enabled", matchIfMissing = true)
+public class RequiredIndexesVerifier implements ApplicationRunner {
+    private static final Map<String, List<String>> REQUIRED_INDEXES = Map.of(
+            "password_record", List.of("owner_directory_name_index"),
+            "directory_entity", List.of("directory_entity_owner_parent_index", "directory_entity_owner_path_index"),
+            "shared_password", List.of("shared_password_created_at_index", "shared_password_to_share_index"),
+            "refresh_token", List.of("refresh_token_owner_index"),
+            "api_key", List.of("api_key_owner_index")
+    );
+
+    private final DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> table : REQUIRED_INDEXES.entrySet()) {
+                Set<String> present = getIndexNames(metaData, connection.getSchema(), table.getKey());
+                for (String index : table.getValue()) {
+                    if (!present.contains(index)) missing.add(table.getKey() + "." + index);
+                }
+            }
+        }
+        if (!missing.isEmpty()) throw new IllegalStateException("Missing database indexes: " + missing);
+        log.info("All required database indexes are present");
+    }
+
+    private static Set<String> getIndexNames(DatabaseMetaData metaData, String schema, String table)
+            throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> names = new HashSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(null, schema, tableName, false, true)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) names.add(name.toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+}
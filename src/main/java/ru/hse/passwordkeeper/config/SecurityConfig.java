@@ -1,10 +1,14 @@
 package ru.hse.passwordkeeper.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -24,25 +28,44 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final UserService userService;
     private final AuthenticationConfiguration authConfig;
+    private final MeterRegistry meterRegistry;
+    private final VerifiedCredentialsCache verifiedCredentialsCache;
+
+    @Value("${hashing.pool_size}")
+    private final int hashingPoolSize;
+
+    @Value("${hashing.queue_capacity}")
+    private final int hashingQueueCapacity;
+
+    @Value("${hashing.timeout}")
+    private final long hashingTimeout;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(request -> request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/auth/revoke", "/auth/logout").authenticated()
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/**").authenticated()
                         .requestMatchers("/actuator/prometheus").hasRole("PROMETHEUS"))
                 .sessionManagement(manager -> manager.sessionCreationPolicy(STATELESS))
                 .authenticationProvider(authenticationProvider())
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(basicAuthFilter(), UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(apiKeyAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+                hashingPoolSize, hashingQueueCapacity, hashingTimeout, meterRegistry);
     }
 
     @Bean
@@ -59,7 +82,8 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    private BasicAuthenticationFilter basicAuthFilter() throws Exception {
-        return new BasicAuthenticationFilter(authenticationManager());
+    private BasicAuthenticationFilter basicAuthFilter() {
+        return new BasicAuthenticationFilter(new ProviderManager(
+                new CachingAuthenticationProvider(authenticationProvider(), verifiedCredentialsCache)));
     }
 }
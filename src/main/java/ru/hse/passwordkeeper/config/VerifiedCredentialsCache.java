@@ -0,0 +1,76 @@
+package ru.hse.passwordkeeper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import ru.hse.passwordkeeper.service.UserChangedEvent;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+@Component
+@RequiredArgsConstructor
+public class VerifiedCredentialsCache {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${basic_auth.cache.size:1000}")
+    private long cacheSize;
+
+    @Value("${basic_auth.cache.ttl:60000}")
+    private long cacheTtl;
+
+    private SecretKeySpec key;
+    private Cache<String, UserDetails> verified;
+
+    @PostConstruct
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "basic_auth_credentials");
+    }
+
+    public UserDetails get(String login, String password) {
+        return verified.getIfPresent(digest(login, password));
+    }
+
+    public void put(String login, String password, UserDetails user) {
+        verified.put(digest(login, password), user);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        verified.asMap().values().removeIf(user -> user.getUsername().equals(event.login()));
+    }
+
+    private String digest(String login, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(login.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
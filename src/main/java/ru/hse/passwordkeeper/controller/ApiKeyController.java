@@ -0,0 +1,44 @@
+package ru.hse.passwordkeeper.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.hse.passwordkeeper.dto.request.ApiKeyCreateRequestDto;
+import ru.hse.passwordkeeper.dto.response.ApiKeyResponseDto;
+import ru.hse.passwordkeeper.service.ApiKeyService;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api-keys")
+public class ApiKeyController {
+    private final ApiKeyService apiKeyService;
+
+    @PostMapping
+    public ResponseEntity<ApiKeyResponseDto> createKey(@RequestBody ApiKeyCreateRequestDto requestDto,
+                                                       @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(apiKeyService.createKey(requestDto.getName(), userDetails.getUsername()));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ApiKeyResponseDto>> getKeys(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(apiKeyService.getKeys(userDetails.getUsername()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> revokeKey(@PathVariable UUID id,
+                                          @AuthenticationPrincipal UserDetails userDetails) {
+        if (!apiKeyService.revokeKey(id, userDetails.getUsername())) return ResponseEntity.notFound().build();
+        return ResponseEntity.noContent().build();
+    }
+}
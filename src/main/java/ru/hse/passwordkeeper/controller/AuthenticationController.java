@@ -2,20 +2,30 @@ package ru.hse.passwordkeeper.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.hse.passwordkeeper.dto.request.RefreshTokenRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignInRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
+import ru.hse.passwordkeeper.exception.HashingOverloadedException;
+import ru.hse.passwordkeeper.exception.RateLimitExceededException;
 import ru.hse.passwordkeeper.service.AuthenticationService;
+import ru.hse.passwordkeeper.service.JwtKeyRing;
 import ru.hse.passwordkeeper.utils.SimpleExceptionMessagesCreator;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,6 +33,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthenticationController {
     private final AuthenticationService authenticationService;
+    private final JwtKeyRing jwtKeyRing;
     private final SimpleExceptionMessagesCreator exceptionMessagesCreator;
 
     @PostMapping("/signup")
@@ -43,6 +54,48 @@ public class AuthenticationController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequestDto request) {
+        try {
+            return ResponseEntity.ok(authenticationService.refresh(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                       @RequestBody(required = false) RefreshTokenRequestDto request) {
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authenticationService.logout(accessToken, request == null ? null : request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revokeTokens(@AuthenticationPrincipal UserDetails userDetails) {
+        authenticationService.revokeTokens(userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/jwks")
+    public Map<String, List<Map<String, Object>>> jwks() {
+        return Map.of("keys", jwtKeyRing.publicJwks());
+    }
+
+    @ExceptionHandler(HashingOverloadedException.class)
+    public ResponseEntity<String> handleHashingOverloaded(HashingOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> handleRateLimitExceeded(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.FORBIDDEN)
     @ExceptionHandler({MethodArgumentNotValidException.class, IllegalArgumentException.class})
     public Map<String, String> handleValidationExceptions(
@@ -1,9 +1,11 @@
 package ru.hse.passwordkeeper.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,10 +13,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.hse.passwordkeeper.dto.request.DirectoryCreateRequestDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryBreadcrumbResponseDto;
 import ru.hse.passwordkeeper.dto.response.DirectoryCreateResponseDto;
 import ru.hse.passwordkeeper.dto.response.DirectoryFullResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryTreeNodeResponseDto;
 import ru.hse.passwordkeeper.service.DirectoryService;
+import ru.hse.passwordkeeper.service.VaultVersionService;
 
 import java.util.List;
 
@@ -22,6 +28,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DirectoryController {
     private final DirectoryService directoryService;
+    private final VaultVersionService versionService;
 
     @PostMapping("/dirs")
     public ResponseEntity<DirectoryCreateResponseDto> createDirectory(
@@ -31,22 +38,85 @@ public class DirectoryController {
                 .setId(directoryService.createNewDirectory(
                         createRequestDto.getId(),
                         createRequestDto.getName(),
-                        userDetails.getUsername()
+                        userDetails
                 ).getId())
         );
     }
 
     @GetMapping("/dirs")
-    public ResponseEntity<List<DirectoryCreateResponseDto>> getAllSubdirectories(@RequestParam(required = false) String id,
-                                                                                 @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(directoryService.getSubdirs(id, userDetails.getUsername()));
+    public ResponseEntity<?> getAllSubdirectories(@RequestParam(required = false) String id,
+                                                  @RequestParam(defaultValue = "false") boolean withCounts,
+                                                  @AuthenticationPrincipal UserDetails userDetails,
+                                                  WebRequest webRequest) {
+        String etag = versionService.currentTag(userDetails.getUsername());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (withCounts) {
+            return ResponseEntity.ok().eTag(etag).body(directoryService.getSubdirSummaries(id, userDetails));
+        }
+        return ResponseEntity.ok().eTag(etag).body(directoryService.getSubdirs(id, userDetails));
+    }
+
+    @GetMapping("/dirs/tree")
+    public ResponseEntity<?> getDirectoryTree(@RequestParam(required = false) Integer depth,
+                                              @AuthenticationPrincipal UserDetails userDetails,
+                                              WebRequest webRequest) {
+        String etag = versionService.currentTag(userDetails.getUsername());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        try {
+            List<DirectoryTreeNodeResponseDto> tree = directoryService.getTree(userDetails, depth);
+            return ResponseEntity.ok().eTag(etag).body(tree);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PatchMapping("/dirs/{id}")
-    public ResponseEntity<DirectoryFullResponseDto> moveDirectory(@PathVariable String id,
-                                                                  @RequestParam(required = false) String moveTo,
-                                                                  @AuthenticationPrincipal UserDetails userDetails) {
-        DirectoryFullResponseDto patched = directoryService.moveDirectory(id, moveTo, userDetails.getUsername());
-        return ResponseEntity.ok(patched);
+    public ResponseEntity<?> moveDirectory(@PathVariable String id,
+                                           @RequestParam(required = false) String moveTo,
+                                           @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            DirectoryFullResponseDto patched = directoryService.moveDirectory(id, moveTo, userDetails);
+            return ResponseEntity.ok(patched);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/dirs/{id}")
+    public ResponseEntity<?> deleteDirectory(@PathVariable String id,
+                                             @RequestParam(defaultValue = "false") boolean recursive,
+                                             @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return directoryService.deleteDirectory(id, recursive, userDetails)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/dirs/{id}/copy")
+    public ResponseEntity<?> copyDirectory(@PathVariable String id,
+                                           @RequestParam(required = false) String copyTo,
+                                           @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return directoryService.copyDirectory(id, copyTo, userDetails)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/dirs/{id}/breadcrumbs")
+    public ResponseEntity<List<DirectoryBreadcrumbResponseDto>> getBreadcrumbs(@PathVariable String id,
+                                                                               @AuthenticationPrincipal UserDetails userDetails) {
+        return directoryService.getBreadcrumbs(id, userDetails)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
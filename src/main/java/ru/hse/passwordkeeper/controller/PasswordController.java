@@ -1,14 +1,20 @@
 package ru.hse.passwordkeeper.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,12 +25,21 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import ru.hse.passwordkeeper.dto.request.PasswordBatchUpdateRequestDto;
 import ru.hse.passwordkeeper.dto.request.PasswordRequestDto;
 import ru.hse.passwordkeeper.dto.response.PasswordFullResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordSearchResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
+import ru.hse.passwordkeeper.service.PasswordImportService;
+import ru.hse.passwordkeeper.service.PasswordSearchService;
 import ru.hse.passwordkeeper.service.PasswordService;
+import ru.hse.passwordkeeper.service.VaultVersionService;
 import ru.hse.passwordkeeper.utils.SimpleExceptionMessagesCreator;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,62 +50,170 @@ import java.util.UUID;
 @RequestMapping("/passwords")
 public class PasswordController {
     private final PasswordService service;
+    private final PasswordImportService importService;
+    private final PasswordSearchService searchService;
+    private final VaultVersionService versionService;
     private final SimpleExceptionMessagesCreator exceptionMessagesCreator;
 
+    @Value("${passwords.export.timeout}")
+    private long exportTimeout;
+
     @PostMapping("/")
     public ResponseEntity<PasswordShortResponseDto> createPasswordRecord(
             @Valid @RequestBody PasswordRequestDto requestDto,
             @AuthenticationPrincipal UserDetails userDetails
     ) {
-        String username = userDetails.getUsername();
-        PasswordShortResponseDto result = service.createPasswordRecord(requestDto, username);
+        PasswordShortResponseDto result = service.createPasswordRecord(requestDto, userDetails);
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createPasswordRecords(
+            @RequestBody List<PasswordRequestDto> requestDtos,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            return ResponseEntity.ok(service.createPasswordRecords(requestDtos, userDetails));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<?> updatePasswordRecords(
+            @RequestBody List<PasswordBatchUpdateRequestDto> requestDtos,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            return ResponseEntity.ok(service.updatePasswordRecords(requestDtos, userDetails));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/")
     public ResponseEntity<List<PasswordShortResponseDto>> getAllPasswordRecords(
             @AuthenticationPrincipal UserDetails userDetails,
-            @RequestParam(required = false) String directoryId) {
-        List<PasswordShortResponseDto> result = service.getAllRecords(userDetails.getUsername(), directoryId);
-        return ResponseEntity.ok(result);
+            @RequestParam(required = false) String directoryId,
+            WebRequest webRequest) {
+        String etag = versionService.currentTag(userDetails.getUsername());
+        if (webRequest.checkNotModified(etag)) return notModified(etag);
+        List<PasswordShortResponseDto> result = service.getAllRecords(userDetails, directoryId);
+        return ResponseEntity.ok().eTag(etag).body(result);
+    }
+
+    /**
+     * Streams on an async thread under its own timeout, since the default async timeout would cut off
+     * a large vault or a slow client.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportPasswordRecords(@AuthenticationPrincipal UserDetails userDetails,
+                                                    HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"passwords.ndjson\"");
+        return new WebAsyncTask<>(exportTimeout, () -> {
+            service.exportRecords(userDetails, response.getOutputStream());
+            return null;
+        });
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importCsv(InputStream inputStream, @AuthenticationPrincipal UserDetails userDetails)
+            throws IOException {
+        return importRecords(inputStream, PasswordImportService.Format.CSV, userDetails);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> importNdjson(InputStream inputStream, @AuthenticationPrincipal UserDetails userDetails)
+            throws IOException {
+        return importRecords(inputStream, PasswordImportService.Format.NDJSON, userDetails);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<PasswordSearchResponseDto>> searchPasswordRecords(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(userDetails, query, limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<PasswordFullResponseDto> getRecordById(@PathVariable UUID id,
-                                                        @AuthenticationPrincipal UserDetails userDetails) {
-        Optional<PasswordFullResponseDto> result = service.findById(id, userDetails.getUsername());
-        return result.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+                                                        @AuthenticationPrincipal UserDetails userDetails,
+                                                        WebRequest webRequest) {
+        String etag = versionService.currentTag(userDetails.getUsername());
+        if (webRequest.checkNotModified(etag)) return notModified(etag);
+        Optional<PasswordFullResponseDto> result = service.findById(id, userDetails);
+        return result.map(record -> ResponseEntity.ok().eTag(etag).body(record))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/paginated")
     public ResponseEntity<Page<PasswordShortResponseDto>>
             getPaginatedPasswordRecords(Pageable pageable, @AuthenticationPrincipal UserDetails userDetails,
-                                        @RequestParam(required = false) String directoryId) {
+                                        @RequestParam(required = false) String directoryId,
+                                        WebRequest webRequest) {
+        String etag = versionService.currentTag(userDetails.getUsername());
+        if (webRequest.checkNotModified(etag)) return notModified(etag);
         Page<PasswordShortResponseDto> result =
-                service.getPaginatedRecords(pageable, userDetails.getUsername(), directoryId);
-        return ResponseEntity.ok(result);
+                service.getPaginatedRecords(pageable, userDetails, directoryId);
+        return ResponseEntity.ok().eTag(etag).body(result);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getPasswordRecordsAfter(@AuthenticationPrincipal UserDetails userDetails,
+                                                     @RequestParam(required = false) String directoryId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(service.getRecordsAfter(userDetails, directoryId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<PasswordFullResponseDto> updateRecord(@PathVariable UUID id,
+                                                                @Validated(PasswordRequestDto.Lengths.class)
                                                                 @RequestBody PasswordRequestDto requestDto,
                                                                 @AuthenticationPrincipal UserDetails userDetails) {
-        Optional<PasswordFullResponseDto> result = service.updateById(id, requestDto, userDetails.getUsername());
+        Optional<PasswordFullResponseDto> result = service.updateById(id, requestDto, userDetails);
         return result.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRecord(@PathVariable UUID id,
+                                             @AuthenticationPrincipal UserDetails userDetails) {
+        return service.deleteById(id, userDetails)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @PutMapping("/{id}/move")
     public ResponseEntity<PasswordFullResponseDto> changeDirectory(@PathVariable UUID id,
                                                                    @RequestParam(required = false) String directoryId,
                                                                    @AuthenticationPrincipal UserDetails userDetails) {
-        Optional<PasswordFullResponseDto> result = service.changeDirectoryById(id, directoryId, userDetails.getUsername());
+        Optional<PasswordFullResponseDto> result = service.changeDirectoryById(id, directoryId, userDetails);
         return result.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    private ResponseEntity<?> importRecords(InputStream inputStream, PasswordImportService.Format format,
+                                            UserDetails userDetails) throws IOException {
+        try {
+            return ResponseEntity.ok(importService.importRecords(inputStream, format, userDetails));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public Map<String, String> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
         return exceptionMessagesCreator.getExceptionMessages(ex);
     }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
 }
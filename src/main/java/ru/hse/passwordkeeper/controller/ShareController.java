@@ -43,7 +43,7 @@ public class ShareController {
     ) {
         SharedPasswordEntity result = sharingService.createRecordForSharing(
                 id,
-                userDetails.getUsername(),
+                userDetails,
                 requestDto.getLifeExpectancy()
         );
         return ResponseEntity.ok(
@@ -56,7 +56,7 @@ public class ShareController {
             @PathVariable UUID token,
             @AuthenticationPrincipal UserDetails userDetails
     ) {
-        Optional<PasswordRecord> result = sharingService.getSharedRecord(token, userDetails.getUsername());
+        Optional<PasswordRecord> result = sharingService.getSharedRecord(token, userDetails);
         return result.map((r) -> ResponseEntity.ok(
                     new PasswordFullResponseDto()
                             .setPassword(result.get().getPassword())
@@ -0,0 +1,76 @@
+package ru.hse.passwordkeeper.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+import ru.hse.passwordkeeper.utils.Ids;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Entity
+@Table(name = "api_key", indexes = {
+        @Index(name = "api_key_prefix_index", columnList = "prefix", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ApiKeyEntity implements Persistable<UUID> {
+    @Id
+    private UUID id = Ids.nextUuid();
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "prefix", nullable = false)
+    private String prefix;
+
+    @Column(name = "digest", nullable = false)
+    private String digest;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "owner", referencedColumnName = "login")
+    private UserEntity owner;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "last_used_at")
+    private Date lastUsedAt;
+
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newKey = true;
+
+    @Override
+    public boolean isNew() {
+        return newKey;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newKey = false;
+    }
+}
@@ -1,26 +1,65 @@
 package ru.hse.passwordkeeper.domain.entity;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "directories")
 @Getter
 @Setter
 @NoArgsConstructor
-public class DirectoryEntity {
+public class DirectoryEntity implements Persistable<String> {
+    public static final int MAX_PATH_LENGTH = 2048;
+
     @Id
     private String id;
 
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private UserEntity owner;
 
     @ManyToOne(fetch = FetchType.LAZY)
     private DirectoryEntity parent;
+
+    /**
+     * Ids from the root down to this directory, each followed by a slash: {@code /rootId/childId/}.
+     */
+    @Column(nullable = false, length = MAX_PATH_LENGTH)
+    private String path;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newDirectory = true;
+
+    @Override
+    public boolean isNew() {
+        return newDirectory;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newDirectory = false;
+    }
+
+    public static String pathOf(DirectoryEntity parent, String id) {
+        return (parent == null ? "/" : parent.getPath()) + id + "/";
+    }
 }
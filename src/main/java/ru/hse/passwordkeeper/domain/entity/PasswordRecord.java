@@ -2,32 +2,36 @@ package ru.hse.passwordkeeper.domain.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+import ru.hse.passwordkeeper.utils.Ids;
 
 import java.util.UUID;
 
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "password_record", indexes = {
-        @Index(name = "owner_id_index", columnList = "id, owner")
-})
+@Table(name = "password_record")
 @Entity
-public class PasswordRecord {
+public class PasswordRecord implements Persistable<UUID> {
     @Id
-    private UUID id = UUID.randomUUID();
+    private UUID id = Ids.nextUuid();
 
     @Column(name = "name")
     private String name;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "owner", referencedColumnName="login")
     private UserEntity owner;
 
@@ -40,6 +44,22 @@ public class PasswordRecord {
     @Column(name = "url")
     private String url;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private DirectoryEntity directory;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newRecord = true;
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newRecord = false;
+    }
 }
@@ -0,0 +1,74 @@
+package ru.hse.passwordkeeper.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.domain.Persistable;
+import ru.hse.passwordkeeper.utils.Ids;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "refresh_token_hash_index", columnList = "token_hash", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshTokenEntity implements Persistable<UUID> {
+    @Id
+    private UUID id = Ids.nextUuid();
+
+    @Column(name = "token_hash", nullable = false)
+    private String tokenHash;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner", referencedColumnName = "login")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private UserEntity owner;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newToken = true;
+
+    @Override
+    public boolean isNew() {
+        return newToken;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newToken = false;
+    }
+}
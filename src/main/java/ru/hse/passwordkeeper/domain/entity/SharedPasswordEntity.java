@@ -12,6 +12,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import ru.hse.passwordkeeper.utils.Ids;
 
 import java.util.Date;
 import java.util.UUID;
@@ -23,7 +24,7 @@ import java.util.UUID;
 @NoArgsConstructor
 public class SharedPasswordEntity {
     @Id
-    private UUID id = UUID.randomUUID();
+    private UUID id = Ids.nextTokenUuid();
 
     @ManyToOne
     @JoinColumn(name = "creator", referencedColumnName = "login", nullable = false)
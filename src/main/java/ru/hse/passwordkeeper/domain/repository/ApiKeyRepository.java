@@ -0,0 +1,29 @@
+package ru.hse.passwordkeeper.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hse.passwordkeeper.domain.entity.ApiKeyEntity;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKeyEntity, UUID> {
+    Optional<ApiKeyEntity> findByPrefix(String prefix);
+
+    List<ApiKeyEntity> findByOwner(UserEntity owner);
+
+    Optional<ApiKeyEntity> findByIdAndOwner(UUID id, UserEntity owner);
+
+    @Modifying
+    @Transactional
+    @Query("update ApiKeyEntity k set k.lastUsedAt = :usedAt where k.id in :ids")
+    int updateLastUsedAt(Collection<UUID> ids, Date usedAt);
+}
@@ -1,16 +1,111 @@
 package ru.hse.passwordkeeper.domain.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.hse.passwordkeeper.domain.entity.DirectoryEntity;
 import ru.hse.passwordkeeper.domain.entity.UserEntity;
+import ru.hse.passwordkeeper.dto.response.DirectoryBreadcrumbResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryCreateResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectorySummaryResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryTreeNodeResponseDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DirectoryRepository extends JpaRepository<DirectoryEntity, String> {
-    List<DirectoryEntity> findByParentAndOwner(DirectoryEntity parent, UserEntity owner);
+    // Counts are correlated on the owner as well so both subqueries stay on the owner-leading indexes
+    String SELECT_SUMMARY = "select new ru.hse.passwordkeeper.dto.response.DirectorySummaryResponseDto(d.id, d.name, " +
+            "(select count(c) from DirectoryEntity c where c.owner = :owner and c.parent = d), " +
+            "(select count(p) from PasswordRecord p where p.owner = :owner and p.directory = d)) " +
+            "from DirectoryEntity d ";
 
-    Optional<DirectoryEntity> findByIdAndOwner(String parentId, UserEntity byLogin);
+    @Query("select new ru.hse.passwordkeeper.dto.response.DirectoryCreateResponseDto(d.id) " +
+            "from DirectoryEntity d where d.owner = :owner and d.parent is null")
+    List<DirectoryCreateResponseDto> findShortInRoot(UserEntity owner);
+
+    @Query("select new ru.hse.passwordkeeper.dto.response.DirectoryCreateResponseDto(d.id) " +
+            "from DirectoryEntity d where d.owner = :owner and d.parent = :parent")
+    List<DirectoryCreateResponseDto> findShortByParent(UserEntity owner, DirectoryEntity parent);
+
+    @Query(SELECT_SUMMARY + "where d.owner = :owner and d.parent is null order by d.name, d.id")
+    List<DirectorySummaryResponseDto> findSummariesInRoot(UserEntity owner);
+
+    @Query(SELECT_SUMMARY + "where d.owner = :owner and d.parent = :parent order by d.name, d.id")
+    List<DirectorySummaryResponseDto> findSummariesByParent(UserEntity owner, DirectoryEntity parent);
+
+    @Query("select new ru.hse.passwordkeeper.dto.response.DirectoryTreeNodeResponseDto(d.id, d.name, d.parent.id) " +
+            "from DirectoryEntity d where d.owner = :owner order by d.name, d.id")
+    List<DirectoryTreeNodeResponseDto> findTreeNodes(UserEntity owner);
+
+    @Query("select new ru.hse.passwordkeeper.dto.response.DirectoryBreadcrumbResponseDto(d.id, d.name) " +
+            "from DirectoryEntity d where d.id in :ids")
+    List<DirectoryBreadcrumbResponseDto> findBreadcrumbs(Collection<String> ids);
+
+    @Query("select new ru.hse.passwordkeeper.dto.response.DirectoryTreeNodeResponseDto(d.id, d.name, d.parent.id) " +
+            "from DirectoryEntity d where d.owner = :owner and d.path like concat(:prefix, '%') order by d.path")
+    List<DirectoryTreeNodeResponseDto> findTreeNodesUnder(UserEntity owner, String prefix);
+
+    boolean existsByParent(DirectoryEntity parent);
+
+    @Modifying
+    @Query("update DirectoryEntity d set d.parent = null where d.owner = :owner and d.path like concat(:prefix, '%')")
+    int detachSubtree(UserEntity owner, String prefix);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from DirectoryEntity d where d.owner = :owner and d.path like concat(:prefix, '%')")
+    int deleteSubtree(UserEntity owner, String prefix);
+
+    @Query("select max(length(d.path)) from DirectoryEntity d " +
+            "where d.owner = :owner and d.path like concat(:prefix, '%')")
+    Integer findMaxPathLengthUnder(UserEntity owner, String prefix);
+
+    /**
+     * Replaces the {@code oldPrefix} of every path in the subtree, the subtree root included.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DirectoryEntity d set d.path = concat(:newPrefix, substring(d.path, :oldPrefixLength + 1)) " +
+            "where d.owner = :owner and d.path like concat(:oldPrefix, '%')")
+    int replacePathPrefix(UserEntity owner, String oldPrefix, int oldPrefixLength, String newPrefix);
+
+    /**
+     * Creates the directories staged in {@code directory_copy} without parents: databases that check
+     * foreign keys row by row may see a child before its parent. {@link #linkCopies()} sets them afterwards.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "directory_entity"))
+    @Query(value = "insert into directory_entity (id, name, owner_login, path) " +
+            "select c.new_id, d.name, d.owner_login, c.path " +
+            "from directory_copy c join directory_entity d on d.id = c.old_id", nativeQuery = true)
+    int insertCopies();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "directory_entity"))
+    @Query(value = "update directory_entity set parent_id = " +
+            "(select c.parent_id from directory_copy c where c.new_id = directory_entity.id) " +
+            "where id in (select c.new_id from directory_copy c)", nativeQuery = true)
+    int linkCopies();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "directory_copy"))
+    @Query(value = "delete from directory_copy", nativeQuery = true)
+    int clearCopies();
+
+    /**
+     * Loads by primary key so the lookup is served from the second-level cache,
+     * then checks the owner in memory.
+     */
+    default Optional<DirectoryEntity> findByIdAndOwner(String id, UserEntity owner) {
+        return findById(id).filter(directory -> directory.getOwner().getLogin().equals(owner.getLogin()));
+    }
+
+    List<DirectoryEntity> findByIdInAndOwner(Collection<String> ids, UserEntity owner);
+
+    Optional<DirectoryEntity> findFirstByOwnerAndParentAndName(UserEntity owner, DirectoryEntity parent, String name);
 }
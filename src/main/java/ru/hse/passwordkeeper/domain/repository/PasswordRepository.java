@@ -1,23 +1,87 @@
 package ru.hse.passwordkeeper.domain.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.hse.passwordkeeper.domain.entity.DirectoryEntity;
 import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
 import ru.hse.passwordkeeper.domain.entity.UserEntity;
+import ru.hse.passwordkeeper.dto.response.PasswordSearchResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PasswordRepository extends JpaRepository<PasswordRecord, UUID> {
+    String SELECT_SHORT = "select new ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto(" +
+            "p.id, p.name, p.directory.id) from PasswordRecord p ";
+    String IN_ROOT = "where p.owner = :owner and p.directory is null ";
+    String IN_DIRECTORY = "where p.owner = :owner and p.directory = :directory ";
+    String AFTER_CURSOR = "and (p.name > :name or (p.name = :name and p.id > :id)) order by p.name, p.id";
+    String IN_SUBTREE = "where p.owner = :owner and p.directory in (select d from DirectoryEntity d " +
+            "where d.owner = :owner and d.path like concat(:prefix, '%')) ";
 
-    List<PasswordRecord> findByOwnerAndDirectory(UserEntity owner, DirectoryEntity directory);
+    @Query(SELECT_SHORT + IN_ROOT)
+    List<PasswordShortResponseDto> findShortInRoot(UserEntity owner);
+
+    @Query(SELECT_SHORT + IN_DIRECTORY)
+    List<PasswordShortResponseDto> findShortInDirectory(UserEntity owner, DirectoryEntity directory);
+
+    @Query(value = SELECT_SHORT + IN_ROOT, countQuery = "select count(p) from PasswordRecord p " + IN_ROOT)
+    Page<PasswordShortResponseDto> findShortInRoot(UserEntity owner, Pageable pageable);
+
+    @Query(value = SELECT_SHORT + IN_DIRECTORY, countQuery = "select count(p) from PasswordRecord p " + IN_DIRECTORY)
+    Page<PasswordShortResponseDto> findShortInDirectory(UserEntity owner, DirectoryEntity directory,
+                                                        Pageable pageable);
+
+    @Query(SELECT_SHORT + IN_ROOT + AFTER_CURSOR)
+    List<PasswordShortResponseDto> findShortInRootAfter(UserEntity owner, String name, UUID id, Pageable pageable);
+
+    @Query(SELECT_SHORT + IN_DIRECTORY + AFTER_CURSOR)
+    List<PasswordShortResponseDto> findShortInDirectoryAfter(UserEntity owner, DirectoryEntity directory,
+                                                             String name, UUID id, Pageable pageable);
+
+    @Query("select new ru.hse.passwordkeeper.dto.response.PasswordSearchResponseDto(" +
+            "p.id, p.name, p.url, p.directory.id) from PasswordRecord p where p.owner = :owner")
+    List<PasswordSearchResponseDto> findSearchEntries(UserEntity owner);
 
     Optional<PasswordRecord> findByIdAndOwner(UUID id, UserEntity owner);
 
-    Page<PasswordRecord> findByOwnerAndDirectory(UserEntity owner, DirectoryEntity directory, Pageable pageable);
+    boolean existsByDirectory(DirectoryEntity directory);
+
+    /**
+     * Copies the records of every directory staged in {@code directory_copy} into its copy.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_record"))
+    @Query(value = "insert into password_record (id, name, login, password_value, url, directory_id, owner) " +
+            "select gen_random_uuid(), p.name, p.login, p.password_value, p.url, c.new_id, p.owner " +
+            "from directory_copy c join password_record p on p.directory_id = c.old_id", nativeQuery = true)
+    int insertCopies();
+
+    @Modifying
+    @Query("delete from PasswordRecord p " + IN_SUBTREE)
+    int deleteInSubtree(UserEntity owner, String prefix);
+
+    @Modifying
+    @Query("delete from PasswordRecord p where p.id = :id and p.owner = :owner")
+    int deleteByIdAndOwner(UUID id, UserEntity owner);
+
+    List<PasswordRecord> findByIdInAndOwner(Collection<UUID> ids, UserEntity owner);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PasswordRecord> streamByOwner(UserEntity owner);
 }
@@ -0,0 +1,35 @@
+package ru.hse.passwordkeeper.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hse.passwordkeeper.domain.entity.RefreshTokenEntity;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, UUID> {
+    @Query("select t from RefreshTokenEntity t join fetch t.owner where t.tokenHash = :tokenHash")
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Transactional
+    @Query("update RefreshTokenEntity t set t.revoked = true where t.id = :id and t.revoked = false")
+    int revoke(UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("update RefreshTokenEntity t set t.revoked = true where t.owner.login = :login and t.revoked = false")
+    int revokeAllByOwner(String login);
+
+    /**
+     * Revoked tokens are kept until they expire: presenting one again is how reuse of a stolen token is detected.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshTokenEntity t where t.expiresAt <= current_timestamp")
+    int deleteExpiredTokens();
+}
@@ -29,4 +29,14 @@ public interface SharedPasswordsRepository extends JpaRepository<SharedPasswordE
             "where s.expiredAt <= current_timestamp or s.sharedWith is not null " +
             "order by s.createdAt limit :limitValue)")
     int deleteInactiveTokens(int limitValue);
+
+    @Modifying
+    @Query("delete from SharedPasswordEntity s where s.toShare in " +
+            "(select p from PasswordRecord p " + PasswordRepository.IN_SUBTREE + ")")
+    int deleteForRecordsInSubtree(UserEntity owner, String prefix);
+
+    @Modifying
+    @Query("delete from SharedPasswordEntity s where s.toShare in " +
+            "(select p from PasswordRecord p where p.id = :id and p.owner = :owner)")
+    int deleteForRecord(UUID id, UserEntity owner);
 }
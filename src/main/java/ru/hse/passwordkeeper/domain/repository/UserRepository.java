@@ -1,10 +1,45 @@
 package ru.hse.passwordkeeper.domain.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.hse.passwordkeeper.domain.entity.UserEntity;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, String> {
     UserEntity findByLogin(String login);
+
+    /**
+     * Row lock on the user that serializes changes to the shape of their directory tree.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from UserEntity u where u.login = :login")
+    UserEntity lockByLogin(String login);
+
+    @Query("select u.tokenVersion from UserEntity u where u.login = :login")
+    Long findTokenVersionByLogin(String login);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "custom_user"))
+    @Query(value = "insert into custom_user (login, hashed_password, role, token_version) " +
+            "values (:login, :hashedPassword, :role, 0)", nativeQuery = true)
+    int insert(String login, String hashedPassword, String role);
+
+    @Modifying
+    @Transactional
+    @Query("update UserEntity u set u.tokenVersion = u.tokenVersion + 1 where u.login = :login")
+    int incrementTokenVersion(String login);
+
+    @Modifying
+    @Transactional
+    @Query("update UserEntity u set u.vaultVersion = u.vaultVersion + 1 where u.login = :login")
+    int incrementVaultVersion(String login);
 }
@@ -0,0 +1,10 @@
+package ru.hse.passwordkeeper.dto.request;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class ApiKeyCreateRequestDto {
+    private String name;
+}
@@ -0,0 +1,14 @@
+package ru.hse.passwordkeeper.dto.request;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.util.UUID;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Accessors(chain = true)
+public class PasswordBatchUpdateRequestDto extends PasswordRequestDto {
+    private UUID id;
+}
@@ -0,0 +1,12 @@
+package ru.hse.passwordkeeper.dto.request;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Accessors(chain = true)
+public class PasswordImportRequestDto extends PasswordRequestDto {
+    private String path;
+}
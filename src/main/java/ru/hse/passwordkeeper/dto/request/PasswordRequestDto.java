@@ -1,20 +1,32 @@
 package ru.hse.passwordkeeper.dto.request;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 import lombok.Data;
 import lombok.experimental.Accessors;
 
 @Data
 @Accessors(chain = true)
 public class PasswordRequestDto {
+    /**
+     * Length checks alone, for updates where an absent field keeps its value.
+     */
+    public interface Lengths {
+    }
+
     @NotNull(message = "Name value should be provided")
+    @Size(max = 255, message = "Name should not exceed 255 characters", groups = {Default.class, Lengths.class})
     private String name;
 
+    @Size(max = 255, message = "Login should not exceed 255 characters", groups = {Default.class, Lengths.class})
     private String login;
 
     @NotNull(message = "Password value should be provided")
+    @Size(max = 255, message = "Password should not exceed 255 characters", groups = {Default.class, Lengths.class})
     private String password;
 
+    @Size(max = 255, message = "Url should not exceed 255 characters", groups = {Default.class, Lengths.class})
     private String url;
 
     private String dir;
@@ -0,0 +1,18 @@
+package ru.hse.passwordkeeper.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequestDto {
+    @NotNull(message = "Refresh token should be provided")
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+}
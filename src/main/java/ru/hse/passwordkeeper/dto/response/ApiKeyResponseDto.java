@@ -0,0 +1,28 @@
+package ru.hse.passwordkeeper.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Data
+@Accessors(chain = true)
+public class ApiKeyResponseDto {
+    private UUID id;
+
+    private String name;
+
+    private String prefix;
+
+    private String key;
+
+    private boolean revoked;
+
+    @JsonProperty("created_at")
+    private Date createdAt;
+
+    @JsonProperty("last_used_at")
+    private Date lastUsedAt;
+}
@@ -0,0 +1,15 @@
+package ru.hse.passwordkeeper.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectoryBreadcrumbResponseDto {
+    private String id;
+    private String name;
+}
@@ -1,10 +1,14 @@
 package ru.hse.passwordkeeper.dto.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
 @Data
 @Accessors(chain = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class DirectoryCreateResponseDto {
     private String id;
 }
@@ -0,0 +1,17 @@
+package ru.hse.passwordkeeper.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectorySummaryResponseDto {
+    private String id;
+    private String name;
+    private long subdirectories;
+    private long records;
+}
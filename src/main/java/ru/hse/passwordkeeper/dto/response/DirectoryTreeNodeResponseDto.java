@@ -0,0 +1,24 @@
+package ru.hse.passwordkeeper.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+@NoArgsConstructor
+public class DirectoryTreeNodeResponseDto {
+    private String id;
+    private String name;
+    private String parent;
+    private List<DirectoryTreeNodeResponseDto> children = new ArrayList<>();
+
+    public DirectoryTreeNodeResponseDto(String id, String name, String parent) {
+        this.id = id;
+        this.name = name;
+        this.parent = parent;
+    }
+}
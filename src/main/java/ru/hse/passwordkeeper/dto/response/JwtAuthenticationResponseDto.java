@@ -1,5 +1,6 @@
 package ru.hse.passwordkeeper.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,4 +12,7 @@ import lombok.Setter;
 @NoArgsConstructor
 public class JwtAuthenticationResponseDto {
     private String token;
+
+    @JsonProperty("refresh_token")
+    private String refreshToken;
 }
@@ -0,0 +1,21 @@
+package ru.hse.passwordkeeper.dto.response;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Accessors(chain = true)
+public class PasswordBatchItemResponseDto {
+    private int index;
+
+    private int status;
+
+    private UUID id;
+
+    private String dir;
+
+    private Map<String, String> errors;
+}
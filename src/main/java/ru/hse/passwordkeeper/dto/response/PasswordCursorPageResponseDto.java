@@ -0,0 +1,14 @@
+package ru.hse.passwordkeeper.dto.response;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+public class PasswordCursorPageResponseDto {
+    private List<PasswordShortResponseDto> items;
+
+    private String next;
+}
@@ -0,0 +1,21 @@
+package ru.hse.passwordkeeper.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+public class PasswordImportResponseDto {
+    private long imported;
+
+    private long failed;
+
+    @JsonProperty("directories_created")
+    private long directoriesCreated;
+
+    private List<PasswordBatchItemResponseDto> errors = new ArrayList<>();
+}
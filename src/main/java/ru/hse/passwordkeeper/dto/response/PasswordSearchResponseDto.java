@@ -0,0 +1,19 @@
+package ru.hse.passwordkeeper.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.UUID;
+
+@Data
+@Accessors(chain = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordSearchResponseDto {
+    private UUID id;
+    private String name;
+    private String url;
+    private String dir;
+}
@@ -1,12 +1,16 @@
 package ru.hse.passwordkeeper.dto.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
 import java.util.UUID;
 
 @Data
 @Accessors(chain = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class PasswordShortResponseDto {
     private UUID id;
     private String name;
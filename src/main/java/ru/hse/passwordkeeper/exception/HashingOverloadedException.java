@@ -0,0 +1,11 @@
+package ru.hse.passwordkeeper.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class HashingOverloadedException extends RuntimeException {
+    public HashingOverloadedException() {
+        super("Too many authentication requests, try again later");
+    }
+}
@@ -0,0 +1,20 @@
+package ru.hse.passwordkeeper.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import ru.hse.passwordkeeper.dto.response.ApiKeyResponseDto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ApiKeyService {
+    ApiKeyResponseDto createKey(String name, String owner);
+
+    List<ApiKeyResponseDto> getKeys(String owner);
+
+    boolean revokeKey(UUID id, String owner);
+
+    Optional<UserDetails> authenticate(String key);
+
+    void flushLastUsed();
+}
@@ -0,0 +1,11 @@
+package ru.hse.passwordkeeper.service;
+
+/**
+ * Both methods take one attempt from the caller's bucket and return 0 when it is allowed, otherwise the number
+ * of seconds to wait before retrying.
+ */
+public interface AuthRateLimiter {
+    long tryAcquireForAddress(String address);
+
+    long tryAcquireForLogin(String login);
+}
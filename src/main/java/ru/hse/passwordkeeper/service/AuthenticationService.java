@@ -1,5 +1,6 @@
 package ru.hse.passwordkeeper.service;
 
+import ru.hse.passwordkeeper.dto.request.RefreshTokenRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignInRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
 import ru.hse.passwordkeeper.dto.response.JwtAuthenticationResponseDto;
@@ -8,4 +9,10 @@ public interface AuthenticationService {
     JwtAuthenticationResponseDto signUp(SignUpRequestDto request);
 
     JwtAuthenticationResponseDto signIn(SignInRequestDto request);
+
+    JwtAuthenticationResponseDto refresh(RefreshTokenRequestDto request);
+
+    void logout(String accessToken, String refreshToken);
+
+    void revokeTokens(String login);
 }
@@ -1,16 +1,47 @@
 package ru.hse.passwordkeeper.service;
 
+import org.springframework.security.core.userdetails.UserDetails;
 import ru.hse.passwordkeeper.domain.entity.DirectoryEntity;
+import ru.hse.passwordkeeper.dto.response.DirectoryBreadcrumbResponseDto;
 import ru.hse.passwordkeeper.dto.response.DirectoryCreateResponseDto;
 import ru.hse.passwordkeeper.dto.response.DirectoryFullResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectorySummaryResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryTreeNodeResponseDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface DirectoryService {
 
-    DirectoryEntity createNewDirectory(String id, String name, String owner);
+    DirectoryEntity createNewDirectory(String id, String name, UserDetails owner);
 
-    List<DirectoryCreateResponseDto> getSubdirs(String id, String owner);
+    List<DirectoryCreateResponseDto> getSubdirs(String id, UserDetails owner);
 
-    DirectoryFullResponseDto moveDirectory(String id, String moveTo, String owner);
+    /**
+     * Subdirectories with their names and the number of direct subdirectories and records in each.
+     */
+    List<DirectorySummaryResponseDto> getSubdirSummaries(String id, UserDetails owner);
+
+    DirectoryFullResponseDto moveDirectory(String id, String moveTo, UserDetails owner);
+
+    /**
+     * Root directories with their subtrees; {@code depth} limits how many levels are returned, null means all.
+     */
+    List<DirectoryTreeNodeResponseDto> getTree(UserDetails owner, Integer depth);
+
+    /**
+     * Directories from the root down to {@code id} inclusive, empty if the directory is not found.
+     */
+    Optional<List<DirectoryBreadcrumbResponseDto>> getBreadcrumbs(String id, UserDetails owner);
+
+    /**
+     * Deletes the directory; unless {@code recursive} it must have no subdirectories or records.
+     * Returns false if the directory is not found.
+     */
+    boolean deleteDirectory(String id, boolean recursive, UserDetails owner);
+
+    /**
+     * Copies the directory with all subdirectories and records under {@code copyTo}, or into the root when null.
+     */
+    Optional<DirectoryFullResponseDto> copyDirectory(String id, String copyTo, UserDetails owner);
 }
@@ -0,0 +1,20 @@
+package ru.hse.passwordkeeper.service;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.util.List;
+import java.util.Map;
+
+public interface JwtKeyRing {
+    String DEFAULT_KID = "default";
+
+    SigningKey activeKey();
+
+    Key verificationKey(String kid, String algorithm);
+
+    List<Map<String, Object>> publicJwks();
+
+    record SigningKey(String kid, SignatureAlgorithm algorithm, Key key) {
+    }
+}
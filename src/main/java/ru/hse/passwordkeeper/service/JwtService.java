@@ -1,11 +1,16 @@
 package ru.hse.passwordkeeper.service;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Optional;
+
 public interface JwtService {
-    String extractLogin(String token);
+    Optional<Claims> verifyToken(String token);
 
     String generateToken(UserDetails userDetails);
 
-    boolean isTokenValid(String token, UserDetails userDetails);
+    boolean isTokenValid(Claims claims, UserDetails userDetails);
+
+    void revokeToken(Claims claims);
 }
@@ -0,0 +1,14 @@
+package ru.hse.passwordkeeper.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import ru.hse.passwordkeeper.dto.response.PasswordImportResponseDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface PasswordImportService {
+    enum Format { CSV, NDJSON }
+
+    PasswordImportResponseDto importRecords(InputStream inputStream, Format format, UserDetails owner)
+            throws IOException;
+}
@@ -0,0 +1,21 @@
+package ru.hse.passwordkeeper.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
+import ru.hse.passwordkeeper.dto.response.PasswordSearchResponseDto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Index updates made inside a transaction are applied once it commits.
+ */
+public interface PasswordSearchService {
+    List<PasswordSearchResponseDto> search(UserDetails owner, String query, int limit);
+
+    void indexRecord(String owner, PasswordRecord record);
+
+    void removeRecord(String owner, UUID id);
+
+    void invalidate(String owner);
+}
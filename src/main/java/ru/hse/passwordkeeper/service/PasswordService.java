@@ -2,24 +2,41 @@ package ru.hse.passwordkeeper.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.userdetails.UserDetails;
+import ru.hse.passwordkeeper.dto.request.PasswordBatchUpdateRequestDto;
 import ru.hse.passwordkeeper.dto.request.PasswordRequestDto;
+import ru.hse.passwordkeeper.dto.response.PasswordBatchItemResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordCursorPageResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordFullResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PasswordService {
-    PasswordShortResponseDto createPasswordRecord(PasswordRequestDto requestDto, String owner);
+    PasswordShortResponseDto createPasswordRecord(PasswordRequestDto requestDto, UserDetails owner);
 
-    List<PasswordShortResponseDto> getAllRecords(String owner, String directoryId);
+    List<PasswordBatchItemResponseDto> createPasswordRecords(List<PasswordRequestDto> requestDtos, UserDetails owner);
 
-    Optional<PasswordFullResponseDto> findById(UUID id, String owner);
+    List<PasswordBatchItemResponseDto> updatePasswordRecords(List<PasswordBatchUpdateRequestDto> requestDtos,
+                                                             UserDetails owner);
 
-    Page<PasswordShortResponseDto> getPaginatedRecords(Pageable pageable, String owner, String directoryId);
+    List<PasswordShortResponseDto> getAllRecords(UserDetails owner, String directoryId);
 
-    Optional<PasswordFullResponseDto> updateById(UUID id, PasswordRequestDto requestDto, String owner);
+    void exportRecords(UserDetails owner, OutputStream outputStream) throws IOException;
 
-    Optional<PasswordFullResponseDto> changeDirectoryById(UUID id, String parent, String username);
+    Optional<PasswordFullResponseDto> findById(UUID id, UserDetails owner);
+
+    Page<PasswordShortResponseDto> getPaginatedRecords(Pageable pageable, UserDetails owner, String directoryId);
+
+    PasswordCursorPageResponseDto getRecordsAfter(UserDetails owner, String directoryId, String cursor, int size);
+
+    Optional<PasswordFullResponseDto> updateById(UUID id, PasswordRequestDto requestDto, UserDetails owner);
+
+    Optional<PasswordFullResponseDto> changeDirectoryById(UUID id, String parent, UserDetails owner);
+
+    boolean deleteById(UUID id, UserDetails owner);
 }
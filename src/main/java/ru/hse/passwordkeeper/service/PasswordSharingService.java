@@ -1,5 +1,6 @@
 package ru.hse.passwordkeeper.service;
 
+import org.springframework.security.core.userdetails.UserDetails;
 import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
 import ru.hse.passwordkeeper.domain.entity.SharedPasswordEntity;
 
@@ -8,7 +9,7 @@ import java.util.UUID;
 
 public interface PasswordSharingService {
 
-    SharedPasswordEntity createRecordForSharing(UUID passwordRecordId, String username, Long lifeExpectancy);
+    SharedPasswordEntity createRecordForSharing(UUID passwordRecordId, UserDetails owner, Long lifeExpectancy);
 
-    Optional<PasswordRecord> getSharedRecord(UUID token, String username);
+    Optional<PasswordRecord> getSharedRecord(UUID token, UserDetails recipient);
 }
@@ -0,0 +1,13 @@
+package ru.hse.passwordkeeper.service;
+
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
+
+public interface RefreshTokenService {
+    String issue(UserEntity user);
+
+    String consume(String refreshToken);
+
+    void revoke(String refreshToken);
+
+    void revokeAll(String login);
+}
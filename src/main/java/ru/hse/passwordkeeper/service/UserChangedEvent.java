@@ -0,0 +1,4 @@
+package ru.hse.passwordkeeper.service;
+
+public record UserChangedEvent(String login) {
+}
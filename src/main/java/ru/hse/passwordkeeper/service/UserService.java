@@ -2,9 +2,28 @@ package ru.hse.passwordkeeper.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
 
 public interface UserService {
     UserDetailsService userDetailsService();
 
-    UserDetails findByLogin(String login);
+    UserEntity findByLogin(String login);
+
+    UserEntity getReference(UserDetails principal);
+
+    /**
+     * Locks the user's row until the current transaction ends.
+     */
+    UserEntity lock(UserDetails principal);
+
+    UserEntity create(UserEntity user);
+
+    long getTokenVersion(String login);
+
+    void revokeTokens(String login);
+
+    /**
+     * Increments the user's vault version in the current transaction; the cached row is evicted after commit.
+     */
+    void bumpVaultVersion(String login);
 }
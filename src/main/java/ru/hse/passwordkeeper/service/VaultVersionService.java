@@ -0,0 +1,13 @@
+package ru.hse.passwordkeeper.service;
+
+public interface VaultVersionService {
+    /**
+     * Entity tag describing the current state of the user's records and directories.
+     */
+    String currentTag(String owner);
+
+    /**
+     * Moves the user's vault to a new version as part of the caller's transaction.
+     */
+    void bump(String owner);
+}
@@ -0,0 +1,130 @@
+package ru.hse.passwordkeeper.service.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.hse.passwordkeeper.domain.entity.ApiKeyEntity;
+import ru.hse.passwordkeeper.domain.repository.ApiKeyRepository;
+import ru.hse.passwordkeeper.dto.response.ApiKeyResponseDto;
+import ru.hse.passwordkeeper.service.ApiKeyService;
+import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.utils.AfterCommit;
+import ru.hse.passwordkeeper.utils.TokenDigests;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ApiKeyServiceImpl implements ApiKeyService {
+    private static final String KEY_PREFIX = "pk_";
+    private static final char SEPARATOR = '.';
+
+    private final ApiKeyRepository repository;
+    private final UserService userService;
+
+    @Value("${api_key.cache.ttl:60000}")
+    private long cacheTtl;
+
+    private final Set<UUID> usedKeys = ConcurrentHashMap.newKeySet();
+    private LoadingCache<String, Optional<ActiveKey>> activeKeys;
+
+    @PostConstruct
+    public void setUp() {
+        activeKeys = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(cacheTtl))
+                .build(prefix -> repository.findByPrefix(prefix)
+                        .filter(key -> !key.isRevoked())
+                        .map(key -> new ActiveKey(key.getId(), key.getDigest(), key.getOwner().getLogin())));
+    }
+
+    @Override
+    public ApiKeyResponseDto createKey(String name, String owner) {
+        String prefix = TokenDigests.randomToken(9);
+        String key = KEY_PREFIX + prefix + SEPARATOR + TokenDigests.randomToken(32);
+
+        ApiKeyEntity entity = new ApiKeyEntity();
+        entity.setName(name);
+        entity.setPrefix(prefix);
+        entity.setDigest(TokenDigests.sha256Hex(key));
+        entity.setOwner(userService.findByLogin(owner));
+        return mapToDto(repository.save(entity)).setKey(key);
+    }
+
+    @Override
+    public List<ApiKeyResponseDto> getKeys(String owner) {
+        return repository.findByOwner(userService.findByLogin(owner))
+                .stream()
+                .map(ApiKeyServiceImpl::mapToDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public boolean revokeKey(UUID id, String owner) {
+        Optional<ApiKeyEntity> key = repository.findByIdAndOwner(id, userService.findByLogin(owner));
+        if (key.isEmpty()) return false;
+        ApiKeyEntity entity = key.get();
+        entity.setRevoked(true);
+        AfterCommit.run(() -> activeKeys.invalidate(entity.getPrefix()));
+        return true;
+    }
+
+    @Override
+    public Optional<UserDetails> authenticate(String key) {
+        int separator = key.indexOf(SEPARATOR);
+        if (!key.startsWith(KEY_PREFIX) || separator < 0) return Optional.empty();
+
+        String prefix = key.substring(KEY_PREFIX.length(), separator);
+        Optional<ActiveKey> activeKey = activeKeys.get(prefix);
+        if (activeKey.isEmpty() || !TokenDigests.digestEquals(activeKey.get().digest(), TokenDigests.sha256Hex(key))) {
+            return Optional.empty();
+        }
+        usedKeys.add(activeKey.get().id());
+        return Optional.ofNullable(userService.findByLogin(activeKey.get().owner()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${api_key.last_used.flush_interval}")
+    public void flushLastUsed() {
+        if (usedKeys.isEmpty()) return;
+        // Removing through the iterator keeps a key marked again after this pass for the next flush;
+        // the timestamp is taken after draining, so it is never older than a use that was drained
+        List<UUID> used = new ArrayList<>();
+        for (Iterator<UUID> it = usedKeys.iterator(); it.hasNext(); ) {
+            used.add(it.next());
+            it.remove();
+        }
+        int affected = repository.updateLastUsedAt(used, new Date());
+        log.info("Updated last usage of api keys: " + affected);
+    }
+
+    private static ApiKeyResponseDto mapToDto(ApiKeyEntity entity) {
+        return new ApiKeyResponseDto()
+                .setId(entity.getId())
+                .setName(entity.getName())
+                .setPrefix(entity.getPrefix())
+                .setRevoked(entity.isRevoked())
+                .setCreatedAt(entity.getCreatedAt())
+                .setLastUsedAt(entity.getLastUsedAt());
+    }
+
+    private record ActiveKey(UUID id, String digest, String owner) {
+    }
+}
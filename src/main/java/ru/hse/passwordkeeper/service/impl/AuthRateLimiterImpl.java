@@ -0,0 +1,88 @@
+package ru.hse.passwordkeeper.service.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.hse.passwordkeeper.service.AuthRateLimiter;
+import ru.hse.passwordkeeper.utils.TokenBucket;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class AuthRateLimiterImpl implements AuthRateLimiter {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rate_limit.enabled}")
+    private boolean enabled;
+
+    @Value("${rate_limit.ip.capacity}")
+    private int addressCapacity;
+
+    @Value("${rate_limit.ip.per_second}")
+    private double addressRate;
+
+    @Value("${rate_limit.login.capacity}")
+    private int loginCapacity;
+
+    @Value("${rate_limit.login.per_second}")
+    private double loginRate;
+
+    @Value("${rate_limit.idle_timeout}")
+    private long idleTimeout;
+
+    @Value("${rate_limit.max_buckets}")
+    private long maxBuckets;
+
+    private LoadingCache<String, TokenBucket> addressBuckets;
+    private LoadingCache<String, TokenBucket> loginBuckets;
+    private Counter addressRejections;
+    private Counter loginRejections;
+
+    @PostConstruct
+    public void setUp() {
+        addressBuckets = buckets(addressCapacity, addressRate);
+        loginBuckets = buckets(loginCapacity, loginRate);
+
+        Gauge.builder("auth_rate_limit_buckets", addressBuckets, LoadingCache::estimatedSize)
+                .tag("key", "address")
+                .register(meterRegistry);
+        Gauge.builder("auth_rate_limit_buckets", loginBuckets, LoadingCache::estimatedSize)
+                .tag("key", "login")
+                .register(meterRegistry);
+        addressRejections = meterRegistry.counter("auth_rate_limit_rejected", "key", "address");
+        loginRejections = meterRegistry.counter("auth_rate_limit_rejected", "key", "login");
+    }
+
+    @Override
+    public long tryAcquireForAddress(String address) {
+        return tryAcquire(addressBuckets, address, addressRejections);
+    }
+
+    @Override
+    public long tryAcquireForLogin(String login) {
+        return tryAcquire(loginBuckets, login, loginRejections);
+    }
+
+    private long tryAcquire(LoadingCache<String, TokenBucket> buckets, String key, Counter rejections) {
+        if (!enabled || key == null) return 0;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket.tryAcquire()) return 0;
+        rejections.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable() + 999_999_999L));
+    }
+
+    private LoadingCache<String, TokenBucket> buckets(int capacity, double tokensPerSecond) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMillis(idleTimeout))
+                .build(key -> new TokenBucket(capacity, tokensPerSecond));
+    }
+}
@@ -1,57 +1,99 @@
 package ru.hse.passwordkeeper.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import ru.hse.passwordkeeper.domain.entity.Role;
 import ru.hse.passwordkeeper.domain.entity.UserEntity;
-import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.dto.request.RefreshTokenRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignInRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
 import ru.hse.passwordkeeper.dto.response.JwtAuthenticationResponseDto;
+import ru.hse.passwordkeeper.exception.HashingOverloadedException;
+import ru.hse.passwordkeeper.exception.RateLimitExceededException;
+import ru.hse.passwordkeeper.service.AuthRateLimiter;
 import ru.hse.passwordkeeper.service.AuthenticationService;
 import ru.hse.passwordkeeper.service.JwtService;
+import ru.hse.passwordkeeper.service.RefreshTokenService;
+import ru.hse.passwordkeeper.service.UserService;
 
 @Service
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
-    private final UserRepository userRepository;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder encoder;
+    private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthRateLimiter rateLimiter;
 
     @Override
     public JwtAuthenticationResponseDto signUp(SignUpRequestDto request) {
-        var userInRepository = userRepository.findByLogin(request.getLogin());
-        if (userInRepository != null) {
-            throw new IllegalArgumentException("Login is not unique");
-        }
+        checkLoginRateLimit(request.getLogin());
         var user = new UserEntity();
         user.setUserRole(Role.ROLE_USER);
         user.setLogin(request.getLogin());
         user.setHashedPassword(encoder.encode(request.getPassword()));
 
-        userRepository.save(user);
+        try {
+            userService.create(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Login is not unique");
+        }
 
-        String token = jwtService.generateToken(user);
-        return new JwtAuthenticationResponseDto(token);
+        return issueTokens(user);
     }
 
     @Override
     public JwtAuthenticationResponseDto signIn(SignInRequestDto request) {
+        checkLoginRateLimit(request.getLogin());
         try {
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getLogin(), request.getPassword()));
         } catch (BadCredentialsException e) {
             throw new IllegalArgumentException("Invalid login or password.");
+        } catch (InternalAuthenticationServiceException e) {
+            if (e.getCause() instanceof HashingOverloadedException overloaded) throw overloaded;
+            throw e;
         }
 
-        var user = userRepository.findByLogin(request.getLogin());
+        var user = userService.findByLogin(request.getLogin());
+
+        return issueTokens(user);
+    }
 
+    @Override
+    public JwtAuthenticationResponseDto refresh(RefreshTokenRequestDto request) {
+        String login = refreshTokenService.consume(request.getRefreshToken());
+        var user = userService.findByLogin(login);
+        if (user == null) throw new IllegalArgumentException("Invalid refresh token");
+        return issueTokens(user);
+    }
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) jwtService.verifyToken(accessToken).ifPresent(jwtService::revokeToken);
+        if (refreshToken != null) refreshTokenService.revoke(refreshToken);
+    }
+
+    @Override
+    public void revokeTokens(String login) {
+        userService.revokeTokens(login);
+        refreshTokenService.revokeAll(login);
+    }
+
+    private JwtAuthenticationResponseDto issueTokens(UserEntity user) {
         String token = jwtService.generateToken(user);
-        return new JwtAuthenticationResponseDto(token);
+        return new JwtAuthenticationResponseDto(token, refreshTokenService.issue(user));
+    }
+
+    private void checkLoginRateLimit(String login) {
+        long retryAfter = rateLimiter.tryAcquireForLogin(login);
+        if (retryAfter > 0) throw new RateLimitExceededException(retryAfter);
     }
 }
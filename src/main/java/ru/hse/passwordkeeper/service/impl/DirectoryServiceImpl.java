@@ -1,58 +1,206 @@
 package ru.hse.passwordkeeper.service.impl;
 
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.RandomStringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.hse.passwordkeeper.domain.entity.DirectoryEntity;
 import ru.hse.passwordkeeper.domain.entity.UserEntity;
 import ru.hse.passwordkeeper.domain.repository.DirectoryRepository;
-import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
+import ru.hse.passwordkeeper.domain.repository.SharedPasswordsRepository;
+import ru.hse.passwordkeeper.dto.response.DirectoryBreadcrumbResponseDto;
 import ru.hse.passwordkeeper.dto.response.DirectoryCreateResponseDto;
 import ru.hse.passwordkeeper.dto.response.DirectoryFullResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectorySummaryResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryTreeNodeResponseDto;
 import ru.hse.passwordkeeper.service.DirectoryService;
+import ru.hse.passwordkeeper.service.PasswordSearchService;
+import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.service.VaultVersionService;
+import ru.hse.passwordkeeper.utils.Ids;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class DirectoryServiceImpl implements DirectoryService {
     private final DirectoryRepository directoryRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final VaultVersionService versionService;
+    private final PasswordRepository passwordRepository;
+    private final SharedPasswordsRepository sharedPasswordsRepository;
+    private final PasswordSearchService searchService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${dirs.copy.batch_size:500}")
+    private int copyBatchSize;
 
     @Override
-    public DirectoryEntity createNewDirectory(String parentId, String name, String owner) {
-        UserEntity ownerUser = userRepository.findByLogin(owner);
+    @Transactional
+    public DirectoryEntity createNewDirectory(String parentId, String name, UserDetails owner) {
+        UserEntity ownerUser = userService.lock(owner);
         DirectoryEntity parent = getDirectory(parentId, ownerUser);
         DirectoryEntity toSave = new DirectoryEntity();
         toSave.setName(name);
         toSave.setParent(parent);
-        String randomId = RandomStringUtils.randomAlphabetic(7);
-        toSave.setId(randomId);
+        String id = Ids.nextDirectoryId();
+        toSave.setId(id);
+        toSave.setPath(checkPathLength(DirectoryEntity.pathOf(parent, id)));
         toSave.setOwner(ownerUser);
-        return directoryRepository.save(toSave);
+        DirectoryEntity saved = directoryRepository.save(toSave);
+        versionService.bump(owner.getUsername());
+        return saved;
     }
 
     @Override
-    public List<DirectoryCreateResponseDto> getSubdirs(String id, String owner) {
-        UserEntity ownerUser = userRepository.findByLogin(owner);
+    public List<DirectoryCreateResponseDto> getSubdirs(String id, UserDetails owner) {
+        UserEntity ownerUser = userService.getReference(owner);
         DirectoryEntity parent = getDirectory(id, ownerUser);
-        return directoryRepository.findByParentAndOwner(parent, ownerUser)
-                .stream()
-                .map(entity -> new DirectoryCreateResponseDto()
-                        .setId(entity.getId()))
-                .toList();
+        if (parent == null) return directoryRepository.findShortInRoot(ownerUser);
+        return directoryRepository.findShortByParent(ownerUser, parent);
     }
 
     @Override
-    public DirectoryFullResponseDto moveDirectory(String id, String moveTo, String owner) {
-        UserEntity ownerUser = userRepository.findByLogin(owner);
+    public List<DirectorySummaryResponseDto> getSubdirSummaries(String id, UserDetails owner) {
+        UserEntity ownerUser = userService.getReference(owner);
+        DirectoryEntity parent = getDirectory(id, ownerUser);
+        if (parent == null) return directoryRepository.findSummariesInRoot(ownerUser);
+        return directoryRepository.findSummariesByParent(ownerUser, parent);
+    }
+
+    @Override
+    @Transactional
+    public DirectoryFullResponseDto moveDirectory(String id, String moveTo, UserDetails owner) {
+        UserEntity ownerUser = userService.lock(owner);
         DirectoryEntity dir = getDirectory(id, ownerUser);
-        if (dir == null) throw new IllegalArgumentException();
+        if (dir == null) throw new IllegalArgumentException("Directory id should be provided");
         DirectoryEntity newParent = getDirectory(moveTo, ownerUser);
+        String oldPath = dir.getPath();
+        if (newParent != null && newParent.getPath().startsWith(oldPath)) {
+            throw new IllegalArgumentException("Directory cannot be moved into itself or its subdirectory");
+        }
+        String newPath = DirectoryEntity.pathOf(newParent, dir.getId());
+        if (newPath.length() > oldPath.length()) {
+            int deepest = directoryRepository.findMaxPathLengthUnder(ownerUser, oldPath);
+            if (deepest - oldPath.length() + newPath.length() > DirectoryEntity.MAX_PATH_LENGTH) {
+                throw new IllegalArgumentException("Directory tree is too deep");
+            }
+        }
+
         dir.setParent(newParent);
-        dir = directoryRepository.save(dir);
-        return mapToFullDto(dir);
+        DirectoryFullResponseDto moved = mapToFullDto(directoryRepository.save(dir));
+        directoryRepository.replacePathPrefix(ownerUser, oldPath, oldPath.length(), newPath);
+        versionService.bump(owner.getUsername());
+        return moved;
+    }
+
+    @Override
+    public Optional<List<DirectoryBreadcrumbResponseDto>> getBreadcrumbs(String id, UserDetails owner) {
+        Optional<DirectoryEntity> directory = directoryRepository.findByIdAndOwner(id, userService.getReference(owner));
+        if (directory.isEmpty()) return Optional.empty();
+        List<String> ids = Arrays.stream(directory.get().getPath().split("/")).filter(s -> !s.isEmpty()).toList();
+        List<DirectoryBreadcrumbResponseDto> breadcrumbs = new ArrayList<>(directoryRepository.findBreadcrumbs(ids));
+        breadcrumbs.sort(Comparator.comparingInt(crumb -> ids.indexOf(crumb.getId())));
+        return Optional.of(breadcrumbs);
+    }
+
+    @Override
+    public List<DirectoryTreeNodeResponseDto> getTree(UserDetails owner, Integer depth) {
+        if (depth != null && depth < 1) throw new IllegalArgumentException("Depth should be positive");
+        List<DirectoryTreeNodeResponseDto> nodes = directoryRepository.findTreeNodes(userService.getReference(owner));
+        Map<String, List<DirectoryTreeNodeResponseDto>> byParent = new HashMap<>();
+        List<DirectoryTreeNodeResponseDto> roots = new ArrayList<>();
+        for (DirectoryTreeNodeResponseDto node : nodes) {
+            if (node.getParent() == null) roots.add(node);
+            else byParent.computeIfAbsent(node.getParent(), parent -> new ArrayList<>()).add(node);
+        }
+
+        List<DirectoryTreeNodeResponseDto> level = roots;
+        for (int i = 1; !level.isEmpty() && (depth == null || i < depth); i++) {
+            List<DirectoryTreeNodeResponseDto> next = new ArrayList<>();
+            for (DirectoryTreeNodeResponseDto node : level) {
+                List<DirectoryTreeNodeResponseDto> children = byParent.get(node.getId());
+                if (children == null) continue;
+                node.setChildren(children);
+                next.addAll(children);
+            }
+            level = next;
+        }
+        return roots;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteDirectory(String id, boolean recursive, UserDetails owner) {
+        UserEntity ownerUser = userService.lock(owner);
+        Optional<DirectoryEntity> found = directoryRepository.findByIdAndOwner(id, ownerUser);
+        if (found.isEmpty()) return false;
+        DirectoryEntity directory = found.get();
+        if (!recursive && (directoryRepository.existsByParent(directory)
+                || passwordRepository.existsByDirectory(directory))) {
+            throw new IllegalArgumentException("Directory is not empty");
+        }
+
+        String prefix = directory.getPath();
+        sharedPasswordsRepository.deleteForRecordsInSubtree(ownerUser, prefix);
+        int records = passwordRepository.deleteInSubtree(ownerUser, prefix);
+        directoryRepository.detachSubtree(ownerUser, prefix);
+        directoryRepository.deleteSubtree(ownerUser, prefix);
+
+        if (records > 0) searchService.invalidate(owner.getUsername());
+        versionService.bump(owner.getUsername());
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public Optional<DirectoryFullResponseDto> copyDirectory(String id, String copyTo, UserDetails owner) {
+        UserEntity ownerUser = userService.lock(owner);
+        Optional<DirectoryEntity> source = directoryRepository.findByIdAndOwner(id, ownerUser);
+        if (source.isEmpty()) return Optional.empty();
+        DirectoryEntity target = getDirectory(copyTo, ownerUser);
+        List<DirectoryTreeNodeResponseDto> nodes = directoryRepository.findTreeNodesUnder(ownerUser, source.get().getPath());
+
+        // Ordered by path, so every parent gets its new id and path before its children
+        Map<String, DirectoryCopy> copies = new LinkedHashMap<>();
+        for (DirectoryTreeNodeResponseDto node : nodes) {
+            DirectoryCopy parent = copies.get(node.getParent());
+            String parentId = parent != null ? parent.newId() : target != null ? target.getId() : null;
+            String parentPath = parent != null ? parent.path() : target != null ? target.getPath() : "/";
+            String newId = Ids.nextDirectoryId();
+            copies.put(node.getId(), new DirectoryCopy(newId, node.getId(), parentId,
+                    checkPathLength(parentPath + newId + "/")));
+        }
+        jdbcTemplate.batchUpdate("insert into directory_copy (new_id, old_id, parent_id, path) values (?, ?, ?, ?)",
+                copies.values(), copyBatchSize, (statement, copy) -> {
+                    statement.setString(1, copy.newId());
+                    statement.setString(2, copy.oldId());
+                    statement.setString(3, copy.parentId());
+                    statement.setString(4, copy.path());
+                });
+        directoryRepository.insertCopies();
+        directoryRepository.linkCopies();
+        int records = passwordRepository.insertCopies();
+        directoryRepository.clearCopies();
+
+        if (records > 0) searchService.invalidate(owner.getUsername());
+        versionService.bump(owner.getUsername());
+        return Optional.of(new DirectoryFullResponseDto()
+                .setParent(target == null ? null : target.getId())
+                .setId(copies.get(id).newId()));
+    }
+
+    private record DirectoryCopy(String newId, String oldId, String parentId, String path) {
     }
 
     private static DirectoryFullResponseDto mapToFullDto(DirectoryEntity entity) {
@@ -64,6 +212,13 @@ public class DirectoryServiceImpl implements DirectoryService {
                 .setId(entity.getId());
     }
 
+    private static String checkPathLength(String path) {
+        if (path.length() > DirectoryEntity.MAX_PATH_LENGTH) {
+            throw new IllegalArgumentException("Directory tree is too deep");
+        }
+        return path;
+    }
+
     private DirectoryEntity getDirectory(String id, UserEntity ownerUser) {
         if (id == null) return null;
         Optional<DirectoryEntity> directory = directoryRepository.findByIdAndOwner(id, ownerUser);
@@ -0,0 +1,132 @@
+package ru.hse.passwordkeeper.service.impl;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.hse.passwordkeeper.config.JwtKeyRingProperties;
+import ru.hse.passwordkeeper.service.JwtKeyRing;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JwtKeyRingImpl implements JwtKeyRing {
+    private final JwtKeyRingProperties properties;
+
+    private final Map<String, KeyEntry> entries = new LinkedHashMap<>();
+    private SigningKey activeKey;
+    private List<Map<String, Object>> publicJwks;
+
+    @PostConstruct
+    public void setUp() throws GeneralSecurityException {
+        if (properties.getKey() != null && !properties.getKey().isBlank()) {
+            Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getKey()));
+            entries.put(DEFAULT_KID, new KeyEntry(DEFAULT_KID, SignatureAlgorithm.HS256, key, key));
+        }
+        for (JwtKeyRingProperties.KeyProperties keyProperties : properties.getKeys()) {
+            entries.put(keyProperties.getKid(), createEntry(keyProperties));
+        }
+
+        String activeKid = properties.getActiveKid() != null ? properties.getActiveKid() : DEFAULT_KID;
+        KeyEntry active = entries.get(activeKid);
+        if (active == null || active.signingKey() == null) {
+            throw new IllegalStateException("No signing key configured for kid " + activeKid);
+        }
+        activeKey = new SigningKey(active.kid(), active.algorithm(), active.signingKey());
+        publicJwks = entries.values().stream()
+                .filter(entry -> entry.verificationKey() instanceof PublicKey)
+                .map(JwtKeyRingImpl::toJwk)
+                .toList();
+        log.info("Loaded JWT keys " + entries.keySet() + ", signing with " + activeKid);
+    }
+
+    @Override
+    public SigningKey activeKey() {
+        return activeKey;
+    }
+
+    @Override
+    public Key verificationKey(String kid, String algorithm) {
+        KeyEntry entry = entries.get(kid != null ? kid : DEFAULT_KID);
+        if (entry == null || !entry.algorithm().getValue().equals(algorithm)) return null;
+        return entry.verificationKey();
+    }
+
+    @Override
+    public List<Map<String, Object>> publicJwks() {
+        return publicJwks;
+    }
+
+    private static KeyEntry createEntry(JwtKeyRingProperties.KeyProperties keyProperties)
+            throws GeneralSecurityException {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(keyProperties.getAlgorithm());
+        if (algorithm.isHmac()) {
+            Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(keyProperties.getSecret()));
+            return new KeyEntry(keyProperties.getKid(), algorithm, key, key);
+        }
+        KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getFamilyName().equals("RSA") ? "RSA" : "EC");
+        Key privateKey = null;
+        if (keyProperties.getPrivateKey() != null) {
+            privateKey = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(Base64.getDecoder().decode(keyProperties.getPrivateKey())));
+        }
+        Key publicKey = keyFactory.generatePublic(
+                new X509EncodedKeySpec(Base64.getDecoder().decode(keyProperties.getPublicKey())));
+        return new KeyEntry(keyProperties.getKid(), algorithm, privateKey, publicKey);
+    }
+
+    private static Map<String, Object> toJwk(KeyEntry entry) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", entry.kid());
+        jwk.put("alg", entry.algorithm().getValue());
+        jwk.put("use", "sig");
+        if (entry.verificationKey() instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus()));
+            jwk.put("e", base64Url(rsa.getPublicExponent()));
+        } else if (entry.verificationKey() instanceof ECPublicKey ec) {
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + ec.getParams().getCurve().getField().getFieldSize());
+            jwk.put("x", base64Url(ec.getW().getAffineX(), size));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), size));
+        }
+        return jwk;
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String base64Url(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[size];
+        int length = Math.min(bytes.length, size);
+        System.arraycopy(bytes, bytes.length - length, padded, size - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+
+    private record KeyEntry(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+    }
+}
@@ -1,75 +1,149 @@
 package ru.hse.passwordkeeper.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
+import ru.hse.passwordkeeper.service.JwtKeyRing;
 import ru.hse.passwordkeeper.service.JwtService;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
-    @Value("${token.signing.key}")
-    private String jwtSigningKey;
+    public static final String ROLE_CLAIM = "role";
+    public static final String VERSION_CLAIM = "ver";
+
+    private final JwtKeyRing keyRing;
 
     @Value("${token.expiration.time}")
     private long jwtExpirationTime;
 
+    @Value("${token.cache.size:10000}")
+    private long verifiedTokensCacheSize;
+
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+    private Cache<String, Claims> revokedTokens;
+
+    @PostConstruct
+    public void setUp() {
+        parser = Jwts.parserBuilder().setSigningKeyResolver(new KeyRingResolver()).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokensCacheSize)
+                .expireAfter(new UntilTokenExpiration())
+                .build();
+        revokedTokens = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpiration())
+                .build();
+    }
+
     @Override
-    public String extractLogin(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public Optional<Claims> verifyToken(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) return notRevoked(cached);
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) verifiedTokens.put(token, claims);
+            return notRevoked(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Rejected token: " + e.getMessage());
+            return Optional.empty();
+        }
     }
 
     @Override
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> extraClaims = new HashMap<>();
+        if (userDetails instanceof UserEntity user) {
+            extraClaims.put(ROLE_CLAIM, user.getUserRole().name());
+            extraClaims.put(VERSION_CLAIM, user.getTokenVersion());
+        }
+        return generateToken(extraClaims, userDetails);
     }
 
     @Override
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userName = extractLogin(token);
-        log.info("Login: " + userName);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && !isTokenExpired(claims)
+                && hasActualVersion(claims, userDetails);
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolvers.apply(claims);
+    @Override
+    public void revokeToken(Claims claims) {
+        if (claims.getId() != null && claims.getExpiration() != null) revokedTokens.put(claims.getId(), claims);
+    }
+
+    private Optional<Claims> notRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokens.getIfPresent(claims.getId()) != null) return Optional.empty();
+        return Optional.of(claims);
     }
 
     private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts.builder().setClaims(extraClaims).setSubject(userDetails.getUsername())
+        JwtKeyRing.SigningKey signingKey = keyRing.activeKey();
+        return Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
+                .setClaims(extraClaims).setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationTime))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+                .signWith(signingKey.key(), signingKey.algorithm()).compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static boolean hasActualVersion(Claims claims, UserDetails userDetails) {
+        Long version = claims.get(VERSION_CLAIM, Long.class);
+        if (version == null || !(userDetails instanceof UserEntity user)) return true;
+        return version == user.getTokenVersion();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token)
-                .getBody();
+    private class KeyRingResolver extends SigningKeyResolverAdapter {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            Key key = keyRing.verificationKey(header.getKeyId(), header.getAlgorithm());
+            if (key == null) throw new SignatureException("Unknown signing key " + header.getKeyId());
+            return key;
+        }
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static class UntilTokenExpiration implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
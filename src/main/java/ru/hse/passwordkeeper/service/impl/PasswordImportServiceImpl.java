@@ -0,0 +1,290 @@
+package ru.hse.passwordkeeper.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.hse.passwordkeeper.domain.entity.DirectoryEntity;
+import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
+import ru.hse.passwordkeeper.domain.repository.DirectoryRepository;
+import ru.hse.passwordkeeper.dto.request.PasswordImportRequestDto;
+import ru.hse.passwordkeeper.dto.response.PasswordBatchItemResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordImportResponseDto;
+import ru.hse.passwordkeeper.service.PasswordImportService;
+import ru.hse.passwordkeeper.service.PasswordSearchService;
+import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.service.VaultVersionService;
+import ru.hse.passwordkeeper.utils.CsvReader;
+import ru.hse.passwordkeeper.utils.Ids;
+import ru.hse.passwordkeeper.utils.SimpleExceptionMessagesCreator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordImportServiceImpl implements PasswordImportService {
+    private final UserService userService;
+    private final DirectoryRepository directoryRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final SimpleExceptionMessagesCreator exceptionMessagesCreator;
+    private final MeterRegistry meterRegistry;
+    private final PasswordSearchService searchService;
+    private final VaultVersionService versionService;
+
+    @Value("${passwords.import.chunk_size:500}")
+    private int chunkSize;
+
+    @Value("${passwords.import.max_errors:1000}")
+    private int maxErrors;
+
+    @Override
+    public PasswordImportResponseDto importRecords(InputStream inputStream, Format format, UserDetails principal)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        RowSource rows = format == Format.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+        ImportState state = new ImportState(principal);
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        while (true) {
+            PasswordImportRequestDto row;
+            try {
+                row = rows.next();
+            } catch (IllegalArgumentException e) {
+                state.reject(index++, Map.of("row", e.getMessage()));
+                continue;
+            }
+            if (row == null) break;
+
+            Map<String, String> errors = exceptionMessagesCreator.getExceptionMessages(validator.validate(row));
+            if (errors.isEmpty()) {
+                chunk.add(new ImportRow(index, row));
+            } else {
+                state.reject(index, errors);
+            }
+            index++;
+
+            if (chunk.size() == chunkSize) {
+                commitChunk(chunk, state);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) commitChunk(chunk, state);
+        if (state.response.getImported() > 0) searchService.invalidate(principal.getUsername());
+        if (state.response.getImported() > 0 || state.response.getDirectoriesCreated() > 0) {
+            versionService.bump(principal.getUsername());
+        }
+
+        log.info("Import for " + principal.getUsername() + " finished: " + state.response.getImported()
+                + " imported, " + state.response.getFailed() + " failed");
+        return state.response;
+    }
+
+    private void commitChunk(List<ImportRow> chunk, ImportState state) {
+        try {
+            saveChunk(chunk, state);
+        } catch (DataAccessException | PersistenceException | IllegalArgumentException e) {
+            if (chunk.size() == 1) {
+                log.warn("Import row rejected: " + e.getMessage());
+                String message = e instanceof IllegalArgumentException ? e.getMessage() : "Could not be saved";
+                state.reject(chunk.get(0).index(), Map.of("row", message));
+                return;
+            }
+            // The chunk was rolled back as a whole, so save it again row by row to reject only the offending rows
+            log.warn("Import chunk rejected, retrying row by row: " + e.getMessage());
+            for (ImportRow row : chunk) {
+                commitChunk(List.of(row), state);
+            }
+        }
+    }
+
+    /**
+     * Saves the chunk in one transaction. The shared EntityManager does not translate exceptions, so a failed
+     * flush surfaces as a {@link PersistenceException} rather than a {@link DataAccessException}.
+     */
+    private void saveChunk(List<ImportRow> chunk, ImportState state) {
+        Map<String, String> createdDirectories = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            UserEntity owner = userService.getReference(state.principal);
+            for (ImportRow importRow : chunk) {
+                PasswordImportRequestDto row = importRow.row();
+                PasswordRecord record = new PasswordRecord();
+                record.setName(row.getName());
+                record.setPassword(row.getPassword());
+                record.setUrl(row.getUrl());
+                record.setLogin(row.getLogin());
+                record.setOwner(owner);
+                record.setDirectory(resolveDirectory(row.getPath(), owner, state, createdDirectories));
+                entityManager.persist(record);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        state.directoryIds.putAll(createdDirectories);
+        state.response.setImported(state.response.getImported() + chunk.size());
+        state.response.setDirectoriesCreated(state.response.getDirectoriesCreated() + createdDirectories.size());
+        meterRegistry.counter("password_import_records", "result", "imported").increment(chunk.size());
+        log.info("Imported " + state.response.getImported() + " records for " + state.principal.getUsername());
+    }
+
+    private DirectoryEntity resolveDirectory(String path, UserEntity owner, ImportState state,
+                                             Map<String, String> createdDirectories) {
+        if (path == null) return null;
+        String parentId = null;
+        StringBuilder key = new StringBuilder();
+        for (String segment : path.split("/")) {
+            String name = segment.trim();
+            if (name.isEmpty()) continue;
+            key.append('/').append(name);
+            String id = state.directoryIds.get(key.toString());
+            if (id == null) id = createdDirectories.get(key.toString());
+            if (id == null) {
+                DirectoryEntity parent = parentId == null ? null : directoryRepository.getReferenceById(parentId);
+                id = directoryRepository.findFirstByOwnerAndParentAndName(owner, parent, name)
+                        .map(DirectoryEntity::getId)
+                        .orElse(null);
+                if (id != null) {
+                    state.directoryIds.put(key.toString(), id);
+                } else {
+                    userService.lock(state.principal);
+                    DirectoryEntity directory = new DirectoryEntity();
+                    directory.setId(Ids.nextDirectoryId());
+                    directory.setName(name);
+                    directory.setOwner(owner);
+                    directory.setParent(parent);
+                    directory.setPath(DirectoryEntity.pathOf(parent, directory.getId()));
+                    if (directory.getPath().length() > DirectoryEntity.MAX_PATH_LENGTH) {
+                        throw new IllegalArgumentException("Directory tree is too deep");
+                    }
+                    entityManager.persist(directory);
+                    id = directory.getId();
+                    createdDirectories.put(key.toString(), id);
+                }
+            }
+            parentId = id;
+        }
+        return parentId == null ? null : directoryRepository.getReferenceById(parentId);
+    }
+
+    private record ImportRow(int index, PasswordImportRequestDto row) {
+    }
+
+    private class ImportState {
+        private final UserDetails principal;
+        private final Map<String, String> directoryIds = new HashMap<>();
+        private final PasswordImportResponseDto response = new PasswordImportResponseDto();
+
+        ImportState(UserDetails principal) {
+            this.principal = principal;
+        }
+
+        void reject(int index, Map<String, String> errors) {
+            response.setFailed(response.getFailed() + 1);
+            meterRegistry.counter("password_import_records", "result", "failed").increment();
+            if (response.getErrors().size() < maxErrors) {
+                response.getErrors().add(new PasswordBatchItemResponseDto()
+                        .setIndex(index)
+                        .setStatus(HttpStatus.BAD_REQUEST.value())
+                        .setErrors(errors));
+            }
+        }
+    }
+
+    private interface RowSource {
+        PasswordImportRequestDto next() throws IOException;
+    }
+
+    private class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private final ObjectReader objectReader = objectMapper.readerFor(PasswordImportRequestDto.class);
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public PasswordImportRequestDto next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+            } while (line.isBlank());
+            PasswordImportRequestDto row;
+            try {
+                row = objectReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+            // A literal null would otherwise look like the end of the input
+            if (row == null) throw new IllegalArgumentException("Row should be a JSON object");
+            return row;
+        }
+    }
+
+    private static class CsvRowSource implements RowSource {
+        private final CsvReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvRowSource(BufferedReader reader) throws IOException {
+            this.reader = new CsvReader(reader);
+            readHeader();
+        }
+
+        @Override
+        public PasswordImportRequestDto next() throws IOException {
+            List<String> fields;
+            do {
+                fields = reader.readRecord();
+                if (fields == null) return null;
+            } while (fields.stream().allMatch(String::isBlank));
+            return (PasswordImportRequestDto) new PasswordImportRequestDto()
+                    .setPath(field(fields, "path"))
+                    .setName(field(fields, "name"))
+                    .setLogin(field(fields, "login"))
+                    .setPassword(field(fields, "password"))
+                    .setUrl(field(fields, "url"));
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = reader.readRecord();
+            if (header == null) header = List.of();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("password")) {
+                throw new IllegalArgumentException("CSV header should contain name and password columns");
+            }
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer position = columns.get(column);
+            if (position == null || position >= fields.size() || fields.get(position).isEmpty()) return null;
+            return fields.get(position);
+        }
+    }
+}
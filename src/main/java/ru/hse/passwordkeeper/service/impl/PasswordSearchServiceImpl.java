@@ -0,0 +1,101 @@
+package ru.hse.passwordkeeper.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
+import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
+import ru.hse.passwordkeeper.dto.response.PasswordSearchResponseDto;
+import ru.hse.passwordkeeper.service.PasswordSearchService;
+import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.utils.AfterCommit;
+import ru.hse.passwordkeeper.utils.TrigramIndex;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class PasswordSearchServiceImpl implements PasswordSearchService {
+    private static final int MAX_LIMIT = 100;
+    private static final Comparator<PasswordSearchResponseDto> BY_NAME = Comparator
+            .comparing(PasswordSearchResponseDto::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PasswordSearchResponseDto::getId);
+
+    private final PasswordRepository passwordRepository;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${search.index.max_users:1000}")
+    private long maxIndexedUsers;
+
+    @Value("${search.index.ttl:600000}")
+    private long indexTtl;
+
+    private Cache<String, TrigramIndex<UUID, PasswordSearchResponseDto>> indexes;
+
+    @PostConstruct
+    public void setUp() {
+        indexes = Caffeine.newBuilder()
+                .maximumSize(maxIndexedUsers)
+                .expireAfterWrite(Duration.ofMillis(indexTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "password_search_index");
+    }
+
+    @Override
+    public List<PasswordSearchResponseDto> search(UserDetails owner, String query, int limit) {
+        if (query == null || query.isBlank()) return List.of();
+        TrigramIndex<UUID, PasswordSearchResponseDto> index =
+                indexes.get(owner.getUsername(), login -> buildIndex(owner));
+        return index.search(query.trim(), Math.min(Math.max(limit, 1), MAX_LIMIT), BY_NAME);
+    }
+
+    /**
+     * Updates go through compute, which waits for an index that {@link #search} is still building; the build
+     * query may have run before this commit, so skipping the update would lose it until the index expires.
+     * computeIfPresent and getIfPresent do not wait for a build in progress.
+     */
+    @Override
+    public void indexRecord(String owner, PasswordRecord record) {
+        String dir = record.getDirectory() == null ? null : record.getDirectory().getId();
+        PasswordSearchResponseDto entry =
+                new PasswordSearchResponseDto(record.getId(), record.getName(), record.getUrl(), dir);
+        AfterCommit.run(() -> indexes.asMap().compute(owner, (login, index) -> {
+            if (index != null) put(index, entry);
+            return index;
+        }));
+    }
+
+    @Override
+    public void removeRecord(String owner, UUID id) {
+        AfterCommit.run(() -> indexes.asMap().compute(owner, (login, index) -> {
+            if (index != null) index.remove(id);
+            return index;
+        }));
+    }
+
+    @Override
+    public void invalidate(String owner) {
+        AfterCommit.run(() -> indexes.invalidate(owner));
+    }
+
+    private TrigramIndex<UUID, PasswordSearchResponseDto> buildIndex(UserDetails owner) {
+        TrigramIndex<UUID, PasswordSearchResponseDto> index = new TrigramIndex<>();
+        passwordRepository.findSearchEntries(userService.getReference(owner)).forEach(entry -> put(index, entry));
+        return index;
+    }
+
+    private static void put(TrigramIndex<UUID, PasswordSearchResponseDto> index, PasswordSearchResponseDto entry) {
+        index.put(entry.getId(), entry, entry.getName(), entry.getUrl());
+    }
+}
@@ -1,35 +1,78 @@
 package ru.hse.passwordkeeper.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.hse.passwordkeeper.domain.entity.DirectoryEntity;
 import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
 import ru.hse.passwordkeeper.domain.entity.UserEntity;
 import ru.hse.passwordkeeper.domain.repository.DirectoryRepository;
 import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
-import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.domain.repository.SharedPasswordsRepository;
+import ru.hse.passwordkeeper.dto.request.PasswordBatchUpdateRequestDto;
 import ru.hse.passwordkeeper.dto.request.PasswordRequestDto;
+import ru.hse.passwordkeeper.dto.response.PasswordBatchItemResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordCursorPageResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordFullResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
+import ru.hse.passwordkeeper.service.PasswordSearchService;
 import ru.hse.passwordkeeper.service.PasswordService;
+import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.service.VaultVersionService;
+import ru.hse.passwordkeeper.utils.SimpleExceptionMessagesCreator;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PasswordServiceImpl implements PasswordService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final UUID MIN_ID = new UUID(0, 0);
+    private static final Map<String, String> MISSING_ITEM = Map.of("item", "Record value should be provided");
+
     private final PasswordRepository repository;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final DirectoryRepository directoryRepository;
+    private final Validator validator;
+    private final SimpleExceptionMessagesCreator exceptionMessagesCreator;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final PasswordSearchService searchService;
+    private final VaultVersionService versionService;
+    private final SharedPasswordsRepository sharedPasswordsRepository;
+
+    @Value("${passwords.batch.max_size:1000}")
+    private int batchMaxSize;
 
-    public PasswordShortResponseDto createPasswordRecord(PasswordRequestDto requestDto, String ownerLogin) {
-        UserEntity owner = userRepository.findByLogin(ownerLogin);
+    @Transactional
+    public PasswordShortResponseDto createPasswordRecord(PasswordRequestDto requestDto, UserDetails principal) {
+        UserEntity owner = userService.getReference(principal);
         DirectoryEntity directory = getDirectory(requestDto.getDir(), owner);
         PasswordRecord toSave = new PasswordRecord();
 
@@ -40,52 +83,194 @@ public class PasswordServiceImpl implements PasswordService {
         toSave.setOwner(owner);
         toSave.setDirectory(directory);
 
-        return mapToShortDto(repository.save(toSave));
+        PasswordRecord saved = repository.save(toSave);
+        searchService.indexRecord(principal.getUsername(), saved);
+        versionService.bump(principal.getUsername());
+        return mapToShortDto(saved);
     }
 
-    public List<PasswordShortResponseDto> getAllRecords(String ownerLogin, String directoryId) {
-        UserEntity owner = userRepository.findByLogin(ownerLogin);
-        DirectoryEntity directory = getDirectory(directoryId, owner);
-        return repository.findByOwnerAndDirectory(
-                        owner,
-                        directory)
+    @Override
+    @Transactional
+    public List<PasswordBatchItemResponseDto> createPasswordRecords(List<PasswordRequestDto> requestDtos,
+                                                                    UserDetails principal) {
+        checkBatchSize(requestDtos);
+        UserEntity owner = userService.getReference(principal);
+        Map<String, DirectoryEntity> directories = getDirectories(requestDtos, owner);
+        List<PasswordBatchItemResponseDto> results = new ArrayList<>(requestDtos.size());
+        List<PasswordRecord> toSave = new ArrayList<>(requestDtos.size());
+
+        for (int i = 0; i < requestDtos.size(); i++) {
+            PasswordRequestDto requestDto = requestDtos.get(i);
+            if (requestDto == null) {
+                results.add(batchItem(i, HttpStatus.BAD_REQUEST).setErrors(MISSING_ITEM));
+                continue;
+            }
+            Map<String, String> errors = exceptionMessagesCreator.getExceptionMessages(validator.validate(requestDto));
+            if (!errors.isEmpty()) {
+                results.add(batchItem(i, HttpStatus.BAD_REQUEST).setErrors(errors));
+                continue;
+            }
+            if (requestDto.getDir() != null && !directories.containsKey(requestDto.getDir())) {
+                results.add(batchItem(i, HttpStatus.NOT_FOUND).setErrors(Map.of("dir", "Directory not found")));
+                continue;
+            }
+            PasswordRecord record = new PasswordRecord();
+            record.setName(requestDto.getName());
+            record.setPassword(requestDto.getPassword());
+            record.setUrl(requestDto.getUrl());
+            record.setLogin(requestDto.getLogin());
+            record.setOwner(owner);
+            record.setDirectory(directories.get(requestDto.getDir()));
+            toSave.add(record);
+            results.add(batchItem(i, HttpStatus.CREATED).setId(record.getId()).setDir(requestDto.getDir()));
+        }
+
+        repository.saveAll(toSave);
+        toSave.forEach(record -> searchService.indexRecord(principal.getUsername(), record));
+        if (!toSave.isEmpty()) versionService.bump(principal.getUsername());
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<PasswordBatchItemResponseDto> updatePasswordRecords(List<PasswordBatchUpdateRequestDto> requestDtos,
+                                                                    UserDetails principal) {
+        checkBatchSize(requestDtos);
+        UserEntity owner = userService.getReference(principal);
+        Map<String, DirectoryEntity> directories = getDirectories(requestDtos, owner);
+        Map<UUID, PasswordRecord> records = repository.findByIdInAndOwner(
+                        requestDtos.stream().filter(Objects::nonNull).map(PasswordBatchUpdateRequestDto::getId)
+                                .filter(Objects::nonNull).toList(),
+                        owner)
                 .stream()
-                .map(this::mapToShortDto).toList();
+                .collect(Collectors.toMap(PasswordRecord::getId, Function.identity()));
+        List<PasswordBatchItemResponseDto> results = new ArrayList<>(requestDtos.size());
+        List<PasswordRecord> toSave = new ArrayList<>(requestDtos.size());
+
+        for (int i = 0; i < requestDtos.size(); i++) {
+            PasswordBatchUpdateRequestDto requestDto = requestDtos.get(i);
+            if (requestDto == null) {
+                results.add(batchItem(i, HttpStatus.BAD_REQUEST).setErrors(MISSING_ITEM));
+                continue;
+            }
+            if (requestDto.getId() == null) {
+                results.add(batchItem(i, HttpStatus.BAD_REQUEST).setErrors(Map.of("id", "Id value should be provided")));
+                continue;
+            }
+            Map<String, String> errors = exceptionMessagesCreator.getExceptionMessages(
+                    validator.validate(requestDto, PasswordRequestDto.Lengths.class));
+            if (!errors.isEmpty()) {
+                results.add(batchItem(i, HttpStatus.BAD_REQUEST).setId(requestDto.getId()).setErrors(errors));
+                continue;
+            }
+            PasswordRecord record = records.get(requestDto.getId());
+            if (record == null) {
+                results.add(batchItem(i, HttpStatus.NOT_FOUND).setId(requestDto.getId()));
+                continue;
+            }
+            if (requestDto.getDir() != null && !directories.containsKey(requestDto.getDir())) {
+                results.add(batchItem(i, HttpStatus.NOT_FOUND).setId(requestDto.getId())
+                        .setErrors(Map.of("dir", "Directory not found")));
+                continue;
+            }
+            applyUpdate(record, requestDto, directories.get(requestDto.getDir()));
+            toSave.add(record);
+            results.add(batchItem(i, HttpStatus.OK).setId(record.getId()).setDir(requestDto.getDir()));
+        }
+
+        repository.saveAll(toSave);
+        toSave.forEach(record -> searchService.indexRecord(principal.getUsername(), record));
+        if (!toSave.isEmpty()) versionService.bump(principal.getUsername());
+        return results;
     }
 
-    public Optional<PasswordFullResponseDto> findById(UUID id, String owner) {
-        var result = repository.findByIdAndOwner(id, userRepository.findByLogin(owner));
+    public List<PasswordShortResponseDto> getAllRecords(UserDetails principal, String directoryId) {
+        UserEntity owner = userService.getReference(principal);
+        DirectoryEntity directory = getDirectory(directoryId, owner);
+        if (directory == null) return repository.findShortInRoot(owner);
+        return repository.findShortInDirectory(owner, directory);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportRecords(UserDetails principal, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(PasswordFullResponseDto.class);
+        try (Stream<PasswordRecord> records = repository.streamByOwner(userService.getReference(principal))) {
+            Iterator<PasswordRecord> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                PasswordRecord record = iterator.next();
+                outputStream.write(writer.writeValueAsBytes(mapToFullDto(record)));
+                outputStream.write('\n');
+                entityManager.detach(record);
+            }
+        }
+        outputStream.flush();
+    }
+
+    public Optional<PasswordFullResponseDto> findById(UUID id, UserDetails principal) {
+        var result = repository.findByIdAndOwner(id, userService.getReference(principal));
         return result.map(PasswordServiceImpl::mapToFullDto);
     }
 
-    public Page<PasswordShortResponseDto> getPaginatedRecords(Pageable pageable, String ownerLogin, String directoryId) {
-        UserEntity owner = userRepository.findByLogin(ownerLogin);
+    public Page<PasswordShortResponseDto> getPaginatedRecords(Pageable pageable, UserDetails principal, String directoryId) {
+        UserEntity owner = userService.getReference(principal);
         DirectoryEntity directory = getDirectory(directoryId, owner);
-        return repository.findByOwnerAndDirectory(owner, directory, pageable)
-                .map(this::mapToShortDto);
+        if (directory == null) return repository.findShortInRoot(owner, pageable);
+        return repository.findShortInDirectory(owner, directory, pageable);
     }
 
-    public Optional<PasswordFullResponseDto> updateById(UUID id, PasswordRequestDto requestDto, String ownerLogin) {
-        UserEntity owner = userRepository.findByLogin(ownerLogin);
+    @Override
+    public PasswordCursorPageResponseDto getRecordsAfter(UserDetails principal, String directoryId, String cursor,
+                                                         int size) {
+        UserEntity owner = userService.getReference(principal);
+        DirectoryEntity directory = getDirectory(directoryId, owner);
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        // The first page starts after ("", MIN_ID), which precedes every named record
+        String afterName = "";
+        UUID afterId = MIN_ID;
+        if (cursor != null) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                afterId = UUID.fromString(decoded.substring(0, 36));
+                afterName = decoded.substring(36);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+        }
+
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<PasswordShortResponseDto> records = directory == null
+                ? repository.findShortInRootAfter(owner, afterName, afterId, limit)
+                : repository.findShortInDirectoryAfter(owner, directory, afterName, afterId, limit);
+        boolean hasNext = records.size() > pageSize;
+        if (hasNext) records = records.subList(0, pageSize);
+
+        PasswordCursorPageResponseDto page = new PasswordCursorPageResponseDto()
+                .setItems(records);
+        if (hasNext) page.setNext(encodeCursor(records.get(records.size() - 1)));
+        return page;
+    }
+
+    @Transactional
+    public Optional<PasswordFullResponseDto> updateById(UUID id, PasswordRequestDto requestDto, UserDetails principal) {
+        UserEntity owner = userService.getReference(principal);
         Optional<PasswordRecord> record = repository.findByIdAndOwner(id, owner);
         if (record.isEmpty()) {
             return Optional.empty();
         }
         PasswordRecord passwordRecord = record.get();
-        if (requestDto.getPassword() != null) passwordRecord.setPassword(requestDto.getPassword());
-        passwordRecord.setLogin(requestDto.getLogin());
-        passwordRecord.setUrl(requestDto.getUrl());
-        if (requestDto.getName() != null) passwordRecord.setName(requestDto.getName());
-        DirectoryEntity parent = getDirectory(requestDto.getDir(), owner);
-        passwordRecord.setDirectory(parent);
+        applyUpdate(passwordRecord, requestDto, getDirectory(requestDto.getDir(), owner));
         passwordRecord = repository.save(passwordRecord);
+        searchService.indexRecord(principal.getUsername(), passwordRecord);
+        versionService.bump(principal.getUsername());
         return Optional.of(mapToFullDto(passwordRecord));
     }
 
     @Override
-    public Optional<PasswordFullResponseDto> changeDirectoryById(UUID id, String parent, String username) {
-        UserEntity owner = userRepository.findByLogin(username);
-        Optional<PasswordRecord> record = repository.findByIdAndOwner(id, userRepository.findByLogin(username));
+    @Transactional
+    public Optional<PasswordFullResponseDto> changeDirectoryById(UUID id, String parent, UserDetails principal) {
+        UserEntity owner = userService.getReference(principal);
+        Optional<PasswordRecord> record = repository.findByIdAndOwner(id, owner);
         DirectoryEntity dir = getDirectory(parent, owner);
         if (parent != null && dir == null || record.isEmpty()) {
             return Optional.empty();
@@ -93,9 +278,55 @@ public class PasswordServiceImpl implements PasswordService {
         PasswordRecord toSave = record.get();
         toSave.setDirectory(dir);
         PasswordRecord saved = repository.save(toSave);
+        searchService.indexRecord(principal.getUsername(), saved);
+        versionService.bump(principal.getUsername());
         return Optional.of(mapToFullDto(saved));
     }
 
+    @Override
+    @Transactional
+    public boolean deleteById(UUID id, UserDetails principal) {
+        UserEntity owner = userService.getReference(principal);
+        sharedPasswordsRepository.deleteForRecord(id, owner);
+        if (repository.deleteByIdAndOwner(id, owner) == 0) return false;
+        searchService.removeRecord(principal.getUsername(), id);
+        versionService.bump(principal.getUsername());
+        return true;
+    }
+
+    private void checkBatchSize(List<?> requestDtos) {
+        if (requestDtos.size() > batchMaxSize) {
+            throw new IllegalArgumentException("Batch size should not exceed " + batchMaxSize);
+        }
+    }
+
+    private static void applyUpdate(PasswordRecord passwordRecord, PasswordRequestDto requestDto,
+                                    DirectoryEntity parent) {
+        if (requestDto.getPassword() != null) passwordRecord.setPassword(requestDto.getPassword());
+        passwordRecord.setLogin(requestDto.getLogin());
+        passwordRecord.setUrl(requestDto.getUrl());
+        if (requestDto.getName() != null) passwordRecord.setName(requestDto.getName());
+        passwordRecord.setDirectory(parent);
+    }
+
+    private static String encodeCursor(PasswordShortResponseDto last) {
+        byte[] key = (last.getId() + last.getName()).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key);
+    }
+
+    private static PasswordBatchItemResponseDto batchItem(int index, HttpStatus status) {
+        return new PasswordBatchItemResponseDto().setIndex(index).setStatus(status.value());
+    }
+
+    private Map<String, DirectoryEntity> getDirectories(List<? extends PasswordRequestDto> requestDtos,
+                                                        UserEntity ownerUser) {
+        List<String> ids = requestDtos.stream().filter(Objects::nonNull).map(PasswordRequestDto::getDir)
+                .filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return new HashMap<>();
+        return directoryRepository.findByIdInAndOwner(ids, ownerUser).stream()
+                .collect(Collectors.toMap(DirectoryEntity::getId, Function.identity()));
+    }
+
     private DirectoryEntity getDirectory(String id, UserEntity ownerUser) {
         if (id == null) return null;
         Optional<DirectoryEntity> directory = directoryRepository.findByIdAndOwner(id, ownerUser);
@@ -0,0 +1,61 @@
+package ru.hse.passwordkeeper.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.hse.passwordkeeper.domain.entity.RefreshTokenEntity;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
+import ru.hse.passwordkeeper.domain.repository.RefreshTokenRepository;
+import ru.hse.passwordkeeper.service.RefreshTokenService;
+import ru.hse.passwordkeeper.utils.TokenDigests;
+
+import java.util.Date;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    private final RefreshTokenRepository repository;
+
+    @Value("${token.refresh.expiration.time}")
+    private final long refreshExpirationTime;
+
+    @Override
+    public String issue(UserEntity user) {
+        String refreshToken = TokenDigests.randomToken(32);
+        RefreshTokenEntity entity = new RefreshTokenEntity();
+        entity.setTokenHash(TokenDigests.sha256Hex(refreshToken));
+        entity.setOwner(user);
+        entity.setExpiresAt(new Date(System.currentTimeMillis() + refreshExpirationTime));
+        repository.save(entity);
+        return refreshToken;
+    }
+
+    @Override
+    public String consume(String refreshToken) {
+        RefreshTokenEntity entity = repository.findByTokenHash(TokenDigests.sha256Hex(refreshToken))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        String login = entity.getOwner().getLogin();
+        if (entity.isRevoked()) {
+            log.info("Reuse of revoked refresh token for " + login);
+            repository.revokeAllByOwner(login);
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        if (entity.getExpiresAt().before(new Date()) || repository.revoke(entity.getId()) == 0) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        return login;
+    }
+
+    @Override
+    public void revoke(String refreshToken) {
+        repository.findByTokenHash(TokenDigests.sha256Hex(refreshToken))
+                .ifPresent(entity -> repository.revoke(entity.getId()));
+    }
+
+    @Override
+    public void revokeAll(String login) {
+        repository.revokeAllByOwner(login);
+    }
+}
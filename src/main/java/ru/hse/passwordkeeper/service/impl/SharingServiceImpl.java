@@ -5,14 +5,18 @@ import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
 import ru.hse.passwordkeeper.domain.entity.SharedPasswordEntity;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
 import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
 import ru.hse.passwordkeeper.domain.repository.SharedPasswordsRepository;
-import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.service.PasswordSearchService;
 import ru.hse.passwordkeeper.service.PasswordSharingService;
+import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.service.VaultVersionService;
 
 import java.sql.Date;
 import java.time.Instant;
@@ -24,9 +28,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SharingServiceImpl implements PasswordSharingService {
     private final SharedPasswordsRepository sharedPasswordsRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final PasswordRepository passwordRepository;
     private final MeterRegistry meterRegistry;
+    private final PasswordSearchService searchService;
+    private final VaultVersionService versionService;
     private DistributionSummary distributionSummary;
 
     @PostConstruct
@@ -39,11 +45,11 @@ public class SharingServiceImpl implements PasswordSharingService {
     }
 
     @Override
-    public SharedPasswordEntity createRecordForSharing(UUID passwordRecordId, String username, Long lifeExpectancy) {
+    public SharedPasswordEntity createRecordForSharing(UUID passwordRecordId, UserDetails owner, Long lifeExpectancy) {
         Optional<PasswordRecord> record = passwordRepository.findById(passwordRecordId);
         if (record.isEmpty()) throw new IllegalArgumentException("No record found with this UUID");
         SharedPasswordEntity shared = new SharedPasswordEntity();
-        shared.setOwner(userRepository.findByLogin(username));
+        shared.setOwner(userService.getReference(owner));
         shared.setToShare(record.get());
         if (lifeExpectancy != null) {
             long millis = lifeExpectancy + System.currentTimeMillis();
@@ -54,8 +60,9 @@ public class SharingServiceImpl implements PasswordSharingService {
 
     @Override
     @Transactional
-    public Optional<PasswordRecord> getSharedRecord(UUID token, String username) {
-        int affectedRows = sharedPasswordsRepository.useToken(token, userRepository.findByLogin(username));
+    public Optional<PasswordRecord> getSharedRecord(UUID token, UserDetails recipient) {
+        UserEntity recipientUser = userService.getReference(recipient);
+        int affectedRows = sharedPasswordsRepository.useToken(token, recipientUser);
         log.info("Affected by useToken: " + affectedRows);
         if (affectedRows == 0) {
             meterRegistry.counter("shared_record_invalid_token_attempts").increment();
@@ -64,11 +71,14 @@ public class SharingServiceImpl implements PasswordSharingService {
         SharedPasswordEntity used = sharedPasswordsRepository.findById(token).get();
         PasswordRecord toCopy = used.getToShare();
         PasswordRecord copied = copyRecord(toCopy);
-        copied.setOwner(userRepository.findByLogin(username));
+        copied.setOwner(recipientUser);
 
         log.info(String.valueOf(System.currentTimeMillis() - used.getCreatedAt().getTime()));
         distributionSummary.record(System.currentTimeMillis() - used.getCreatedAt().getTime());
-        return Optional.of(passwordRepository.save(copied));
+        PasswordRecord saved = passwordRepository.save(copied);
+        searchService.indexRecord(recipient.getUsername(), saved);
+        versionService.bump(recipient.getUsername());
+        return Optional.of(saved);
     }
 
     private PasswordRecord copyRecord(PasswordRecord toCopy) {
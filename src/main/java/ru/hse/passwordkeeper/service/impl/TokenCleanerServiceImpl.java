@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import ru.hse.passwordkeeper.domain.repository.RefreshTokenRepository;
 import ru.hse.passwordkeeper.domain.repository.SharedPasswordsRepository;
 import ru.hse.passwordkeeper.service.TokenCleanerService;
 
@@ -13,6 +14,7 @@ import ru.hse.passwordkeeper.service.TokenCleanerService;
 @RequiredArgsConstructor
 public class TokenCleanerServiceImpl implements TokenCleanerService {
     private final SharedPasswordsRepository repository;
+    private final RefreshTokenRepository refreshTokenRepository;
 
     @Value("${scheduler.batch_size}")
     private final int batchSize;
@@ -22,5 +24,7 @@ public class TokenCleanerServiceImpl implements TokenCleanerService {
     public void cleanTokens() {
         int affected = repository.deleteInactiveTokens(batchSize);
         log.info("Deleted inactive tokens: " + affected);
+        affected = refreshTokenRepository.deleteExpiredTokens();
+        log.info("Deleted expired refresh tokens: " + affected);
     }
 }
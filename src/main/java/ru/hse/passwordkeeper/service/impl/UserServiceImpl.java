@@ -1,17 +1,57 @@
 package ru.hse.passwordkeeper.service.impl;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import ru.hse.passwordkeeper.domain.entity.UserEntity;
 import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.service.UserChangedEvent;
 import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.utils.AfterCommit;
+
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${token.claims_only.version_ttl:5000}")
+    private long tokenVersionTtl;
+
+    @Value("${users.cache.size:10000}")
+    private long usersCacheSize;
+
+    @Value("${users.cache.ttl:60000}")
+    private long usersCacheTtl;
+
+    private LoadingCache<String, Long> tokenVersions;
+    private LoadingCache<String, UserEntity> users;
+
+    @PostConstruct
+    public void setUp() {
+        tokenVersions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(tokenVersionTtl))
+                .build(userRepository::findTokenVersionByLogin);
+        users = Caffeine.newBuilder()
+                .maximumSize(usersCacheSize)
+                .expireAfterWrite(Duration.ofMillis(usersCacheTtl))
+                .recordStats()
+                .build(login -> userRepository.findById(login).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
 
     @Override
     public UserDetailsService userDetailsService() {
@@ -24,6 +64,45 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserEntity findByLogin(String login) {
-        return userRepository.findByLogin(login);
+        return users.get(login);
+    }
+
+    @Override
+    public UserEntity getReference(UserDetails principal) {
+        return userRepository.getReferenceById(principal.getUsername());
+    }
+
+    @Override
+    public UserEntity lock(UserDetails principal) {
+        return userRepository.lockByLogin(principal.getUsername());
+    }
+
+    @Override
+    public UserEntity create(UserEntity user) {
+        userRepository.insert(user.getLogin(), user.getHashedPassword(), user.getUserRole().name());
+        users.put(user.getLogin(), user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getLogin()));
+        return user;
+    }
+
+    @Override
+    public long getTokenVersion(String login) {
+        Long version = tokenVersions.get(login);
+        if (version == null) throw new UsernameNotFoundException(login + " not found");
+        return version;
+    }
+
+    @Override
+    public void revokeTokens(String login) {
+        userRepository.incrementTokenVersion(login);
+        tokenVersions.invalidate(login);
+        users.invalidate(login);
+        eventPublisher.publishEvent(new UserChangedEvent(login));
+    }
+
+    @Override
+    public void bumpVaultVersion(String login) {
+        userRepository.incrementVaultVersion(login);
+        AfterCommit.run(() -> users.invalidate(login));
     }
 }
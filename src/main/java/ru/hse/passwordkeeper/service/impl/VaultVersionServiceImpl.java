@@ -0,0 +1,28 @@
+package ru.hse.passwordkeeper.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
+import ru.hse.passwordkeeper.service.UserService;
+import ru.hse.passwordkeeper.service.VaultVersionService;
+
+/**
+ * The version lives in {@code custom_user.vault_version}, so every node hands out the same tag
+ * for the same state and tags survive restarts.
+ */
+@Service
+@RequiredArgsConstructor
+public class VaultVersionServiceImpl implements VaultVersionService {
+    private final UserService userService;
+
+    @Override
+    public String currentTag(String owner) {
+        UserEntity user = userService.findByLogin(owner);
+        return "\"" + Long.toHexString(user == null ? 0 : user.getVaultVersion()) + "\"";
+    }
+
+    @Override
+    public void bump(String owner) {
+        userService.bumpVaultVersion(owner);
+    }
+}
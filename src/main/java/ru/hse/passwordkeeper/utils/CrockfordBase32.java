@@ -0,0 +1,29 @@
+package ru.hse.passwordkeeper.utils;
+
+import java.util.UUID;
+
+/**
+ * Crockford's base32 of a 128-bit value: 26 characters without padding,
+ * and ordered the same way as the value because the alphabet is in ASCII order.
+ */
+public final class CrockfordBase32 {
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    public static final int UUID_LENGTH = 26;
+
+    private CrockfordBase32() {
+    }
+
+    public static String encode(UUID value) {
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+        char[] chars = new char[UUID_LENGTH];
+        // 128 bits = 3 leading bits + 25 groups of 5, filled from the least significant end
+        for (int i = UUID_LENGTH - 1; i > 0; i--) {
+            chars[i] = ALPHABET[(int) (lsb & 31)];
+            lsb = (lsb >>> 5) | (msb << 59);
+            msb >>>= 5;
+        }
+        chars[0] = ALPHABET[(int) (lsb & 7)];
+        return new String(chars);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.hse.passwordkeeper.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: quoted fields may contain commas, line breaks and
+ * doubled quotes. Reads one record at a time so uploads are never buffered whole.
+ */
+public class CsvReader {
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int pushedBack = NONE;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        int c;
+        while ((c = read()) != -1) {
+            empty = false;
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else if ((c = read()) == '"') {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                    pushedBack = c;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && (c = read()) != '\n') pushedBack = c;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (empty) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,23 @@
+package ru.hse.passwordkeeper.utils;
+
+import java.util.UUID;
+
+/**
+ * Source of primary keys. Entities take their ids from {@link Ids}, which holds the generator in use.
+ */
+public interface IdGenerator {
+    /**
+     * Key for a new row.
+     */
+    UUID nextUuid();
+
+    /**
+     * Key that is also handed out as a bearer token, so it must be unpredictable as a whole.
+     */
+    UUID nextTokenUuid();
+
+    /**
+     * Id for a new directory; ids are compared as strings and embedded in directory paths.
+     */
+    String nextDirectoryId();
+}
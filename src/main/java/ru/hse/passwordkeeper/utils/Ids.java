@@ -0,0 +1,29 @@
+package ru.hse.passwordkeeper.utils;
+
+import java.util.UUID;
+
+/**
+ * Static access to the configured {@link IdGenerator}, for entity field initializers that cannot be injected.
+ */
+public final class Ids {
+    private static volatile IdGenerator generator = new TimeOrderedIdGenerator();
+
+    private Ids() {
+    }
+
+    public static void use(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+
+    public static UUID nextUuid() {
+        return generator.nextUuid();
+    }
+
+    public static UUID nextTokenUuid() {
+        return generator.nextTokenUuid();
+    }
+
+    public static String nextDirectoryId() {
+        return generator.nextDirectoryId();
+    }
+}
@@ -0,0 +1,23 @@
+package ru.hse.passwordkeeper.utils;
+
+import java.util.UUID;
+
+/**
+ * Version 4 UUIDs from {@link UUID#randomUUID()}; keys carry no creation time but scatter index inserts.
+ */
+public class RandomIdGenerator implements IdGenerator {
+    @Override
+    public UUID nextUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Override
+    public UUID nextTokenUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Override
+    public String nextDirectoryId() {
+        return CrockfordBase32.encode(UUID.randomUUID());
+    }
+}
@@ -1,11 +1,13 @@
 package ru.hse.passwordkeeper.utils;
 
+import jakarta.validation.ConstraintViolation;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 public class SimpleExceptionMessagesCreator {
@@ -18,4 +20,11 @@ public class SimpleExceptionMessagesCreator {
         });
         return errors;
     }
+
+    public <T> Map<String, String> getExceptionMessages(Set<ConstraintViolation<T>> violations) {
+        Map<String, String> errors = new HashMap<>();
+        violations.forEach((violation) ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
 }
@@ -0,0 +1,38 @@
+package ru.hse.passwordkeeper.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the only state is the theoretical
+ * arrival time of the next request, updated with a single CAS.
+ */
+public class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(int capacity, double tokensPerSecond) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            if (next - now > burstToleranceNanos) return false;
+            if (theoreticalArrivalTime.compareAndSet(current, next)) return true;
+        }
+    }
+
+    /**
+     * Time until {@link #tryAcquire()} would succeed, zero if it would succeed now.
+     */
+    public long nanosUntilAvailable() {
+        long now = System.nanoTime();
+        long next = Math.max(theoreticalArrivalTime.get(), now) + emissionIntervalNanos;
+        return Math.max(0, next - now - burstToleranceNanos);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.hse.passwordkeeper.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+public final class TokenDigests {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private TokenDigests() {
+    }
+
+    public static String randomToken(int bytes) {
+        byte[] value = new byte[bytes];
+        RANDOM.nextBytes(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static boolean digestEquals(String first, String second) {
+        return MessageDigest.isEqual(
+                first.getBytes(StandardCharsets.UTF_8),
+                second.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package ru.hse.passwordkeeper.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive substring index. Every indexed text is split into trigrams;
+ * a query intersects the posting sets of its own trigrams and then confirms
+ * candidates with a plain substring check. Queries shorter than a trigram scan
+ * the texts directly.
+ */
+public class TrigramIndex<K, V> {
+    private final Map<K, V> values = new HashMap<>();
+    private final Map<K, String> texts = new HashMap<>();
+    private final Map<String, Set<K>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(K key, V value, String... fields) {
+        String text = normalize(fields);
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(key);
+            values.put(key, value);
+            texts.put(key, text);
+            for (String trigram : trigrams(text)) {
+                postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<V> search(String query, int limit, Comparator<V> order) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<V> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (K key : candidates(needle)) {
+                if (texts.get(key).contains(needle)) found.add(values.get(key));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        found.sort(order);
+        return found.size() > limit ? found.subList(0, limit) : found;
+    }
+
+    private Collection<K> candidates(String needle) {
+        Set<String> queryTrigrams = trigrams(needle);
+        if (queryTrigrams.isEmpty()) return texts.keySet();
+        Set<K> smallest = null;
+        for (String trigram : queryTrigrams) {
+            Set<K> posting = postings.get(trigram);
+            if (posting == null) return Set.of();
+            if (smallest == null || posting.size() < smallest.size()) smallest = posting;
+        }
+        List<K> result = new ArrayList<>(smallest.size());
+        for (K key : smallest) {
+            boolean inAll = true;
+            for (String trigram : queryTrigrams) {
+                if (!postings.get(trigram).contains(key)) {
+                    inAll = false;
+                    break;
+                }
+            }
+            if (inAll) result.add(key);
+        }
+        return result;
+    }
+
+    private void removeUnlocked(K key) {
+        String text = texts.remove(key);
+        values.remove(key);
+        if (text == null) return;
+        for (String trigram : trigrams(text)) {
+            Set<K> posting = postings.get(trigram);
+            if (posting != null && posting.remove(key) && posting.isEmpty()) postings.remove(trigram);
+        }
+    }
+
+    private static String normalize(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field != null) text.append(field.toLowerCase(Locale.ROOT)).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(text.substring(i, i + 3));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+-- Added while the schema was still managed by ddl-auto, so a baselined database may already have them
+alter table custom_user add column if not exists token_version bigint default 0 not null;
+
+create table if not exists api_key (
+    id uuid not null,
+    created_at timestamp(6) not null,
+    digest varchar(255) not null,
+    last_used_at timestamp(6),
+    name varchar(255),
+    prefix varchar(255) not null,
+    revoked boolean not null,
+    owner varchar(255) not null,
+    primary key (id),
+    constraint api_key_prefix_index unique (prefix),
+    constraint api_key_owner_fk foreign key (owner) references custom_user
+);
+
+create table if not exists refresh_token (
+    id uuid not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    revoked boolean not null,
+    token_hash varchar(255) not null,
+    owner varchar(255) not null,
+    primary key (id),
+    constraint refresh_token_hash_index unique (token_hash),
+    constraint refresh_token_owner_fk foreign key (owner) references custom_user on delete cascade
+);
@@ -0,0 +1,45 @@
+-- Schema of the application before Flyway, which existing databases are baselined at
+create table custom_user (
+    login varchar(255) not null,
+    hashed_password varchar(255),
+    role varchar(255) check (role in ('ROLE_USER', 'ROLE_PROMETHEUS')),
+    primary key (login)
+);
+
+create table directory_entity (
+    id varchar(255) not null,
+    name varchar(255),
+    owner_login varchar(255),
+    parent_id varchar(255),
+    primary key (id),
+    constraint directory_entity_owner_fk foreign key (owner_login) references custom_user,
+    constraint directory_entity_parent_fk foreign key (parent_id) references directory_entity
+);
+
+create table password_record (
+    id uuid not null,
+    login varchar(255),
+    name varchar(255),
+    password_value varchar(255),
+    url varchar(255),
+    directory_id varchar(255),
+    owner varchar(255) not null,
+    primary key (id),
+    constraint password_record_directory_fk foreign key (directory_id) references directory_entity,
+    constraint password_record_owner_fk foreign key (owner) references custom_user
+);
+
+create table shared_password (
+    id uuid not null,
+    created_at timestamp(6) not null,
+    expired_at timestamp(6),
+    creator varchar(255) not null,
+    shared_with varchar(255),
+    to_share uuid not null,
+    primary key (id),
+    constraint shared_password_creator_fk foreign key (creator) references custom_user,
+    constraint shared_password_shared_with_fk foreign key (shared_with) references custom_user,
+    constraint shared_password_to_share_fk foreign key (to_share) references password_record
+);
+
+create index owner_id_index on password_record (id, owner);
@@ -0,0 +1,16 @@
+-- (id, owner) duplicates the primary key and serves no query
+drop index if exists owner_id_index;
+
+-- Listings, keyset pages and exports: owner plus directory, ordered by (name, id)
+create index if not exists owner_directory_name_index on password_record (owner, directory_id, name, id);
+
+-- Subdirectory listings and import path resolution
+create index if not exists directory_entity_owner_parent_index on directory_entity (owner_login, parent_id, name);
+
+-- Token cleanup scans in created_at order; deleting a record checks its shares
+create index if not exists shared_password_created_at_index on shared_password (created_at);
+create index if not exists shared_password_to_share_index on shared_password (to_share);
+
+-- Revoking or deleting everything a user owns
+create index if not exists refresh_token_owner_index on refresh_token (owner);
+create index if not exists api_key_owner_index on api_key (owner);
@@ -0,0 +1 @@
+alter table custom_user add column vault_version bigint default 0 not null;
@@ -0,0 +1,116 @@
+package ru.hse.passwordkeeper;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import ru.hse.passwordkeeper.domain.repository.ApiKeyRepository;
+import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.dto.request.ApiKeyCreateRequestDto;
+import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
+import ru.hse.passwordkeeper.dto.response.ApiKeyResponseDto;
+import ru.hse.passwordkeeper.dto.response.JwtAuthenticationResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ApiKeyControllerIntegrationTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final String ownerLogin = RandomStringUtils.random(10, true, true);
+    private final String ownerPassword = RandomStringUtils.random(10, true, true);
+    private final HttpHeaders headers = new HttpHeaders();
+
+    @BeforeEach
+    public void setUp() {
+        ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
+                "/auth/signup",
+                new SignUpRequestDto(ownerLogin, ownerPassword),
+                JwtAuthenticationResponseDto.class
+        );
+        headers.set("Authorization", "Bearer " + response.getBody().getToken());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        apiKeyRepository.deleteAll();
+    }
+
+    @Test
+    public void givenCreatedKey_whenRequestWithKey_thenAuthenticated() {
+        ApiKeyResponseDto key = createKey("automation");
+        assertNotNull(key.getKey());
+
+        HttpHeaders keyHeaders = new HttpHeaders();
+        keyHeaders.set("X-API-Key", key.getKey());
+
+        ResponseEntity<List<PasswordShortResponseDto>> response = restTemplate.exchange(
+                "/passwords/", HttpMethod.GET, new HttpEntity<>(keyHeaders), new ParameterizedTypeReference<>() {});
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+    }
+
+    @Test
+    public void givenCreatedKey_whenListKeys_thenSecretNotReturned() {
+        ApiKeyResponseDto key = createKey("listed");
+
+        ResponseEntity<List<ApiKeyResponseDto>> response = restTemplate.exchange(
+                "/api-keys", HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {});
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        assertEquals(response.getBody().size(), 1);
+        assertEquals(response.getBody().get(0).getId(), key.getId());
+        assertNull(response.getBody().get(0).getKey());
+    }
+
+    @Test
+    public void givenRevokedKey_whenRequestWithKey_thenForbidden() {
+        ApiKeyResponseDto key = createKey("revoked");
+
+        ResponseEntity<Void> revokeResponse = restTemplate.exchange(
+                "/api-keys/{id}", HttpMethod.DELETE, new HttpEntity<>(headers), Void.class, key.getId());
+        assertEquals(revokeResponse.getStatusCode(), HttpStatus.NO_CONTENT);
+
+        HttpHeaders keyHeaders = new HttpHeaders();
+        keyHeaders.set("X-API-Key", key.getKey());
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/passwords/", HttpMethod.GET, new HttpEntity<>(keyHeaders), String.class);
+
+        assertEquals(response.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    private ApiKeyResponseDto createKey(String name) {
+        HttpEntity<ApiKeyCreateRequestDto> requestEntity =
+                new HttpEntity<>(new ApiKeyCreateRequestDto().setName(name), headers);
+        ResponseEntity<ApiKeyResponseDto> response =
+                restTemplate.exchange("/api-keys", HttpMethod.POST, requestEntity, ApiKeyResponseDto.class);
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        return response.getBody();
+    }
+}
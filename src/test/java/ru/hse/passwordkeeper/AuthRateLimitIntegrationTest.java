@@ -0,0 +1,79 @@
+package ru.hse.passwordkeeper;
+
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.context.ActiveProfiles;
+import ru.hse.passwordkeeper.dto.request.SignInRequestDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every test uses its own logins and public X-Forwarded-For addresses, since buckets live as long as the context.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "rate_limit.ip.capacity=3", "rate_limit.ip.per_second=0.1",
+                "rate_limit.login.capacity=2", "rate_limit.login.per_second=0.01"
+        })
+@ActiveProfiles("test")
+public class AuthRateLimitIntegrationTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        // The default client would sleep through Retry-After and resend
+        restTemplate.getRestTemplate().setRequestFactory(
+                new HttpComponentsClientHttpRequestFactory(HttpClients.custom().disableAutomaticRetries().build()));
+    }
+
+    @Test
+    public void givenRepeatedSignInsForOneLogin_whenCapacityExhausted_thenTooManyRequests() {
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<String> response = signIn("throttled login", "203.0.113." + i);
+            assertEquals(response.getStatusCode(), HttpStatus.FORBIDDEN);
+        }
+
+        ResponseEntity<String> response = signIn("throttled login", "203.0.113.100");
+
+        assertEquals(response.getStatusCode(), HttpStatus.TOO_MANY_REQUESTS);
+        long retryAfter = Long.parseLong(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter > 90 && retryAfter <= 100);
+
+        assertNotEquals(signIn("other login", "203.0.113.101").getStatusCode(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    public void givenRepeatedSignInsFromOneAddress_whenCapacityExhausted_thenTooManyRequests() {
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<String> response = signIn("address login " + i, "198.51.100.1");
+            assertEquals(response.getStatusCode(), HttpStatus.FORBIDDEN);
+        }
+
+        ResponseEntity<String> response = signIn("address login 3", "198.51.100.1");
+
+        assertEquals(response.getStatusCode(), HttpStatus.TOO_MANY_REQUESTS);
+        long retryAfter = Long.parseLong(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter > 0 && retryAfter <= 10);
+
+        assertEquals(signIn("address login 4", "198.51.100.2").getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    private ResponseEntity<String> signIn(String login, String address) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", address);
+        return restTemplate.postForEntity(
+                "/auth/signin", new HttpEntity<>(new SignInRequestDto(login, "qwerty12345"), headers), String.class);
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -15,14 +16,23 @@ import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
 import ru.hse.passwordkeeper.domain.repository.UserRepository;
 import ru.hse.passwordkeeper.dto.ErrorResponseDto;
 import ru.hse.passwordkeeper.dto.request.PasswordRequestDto;
+import ru.hse.passwordkeeper.dto.request.RefreshTokenRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignInRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
 import ru.hse.passwordkeeper.dto.response.JwtAuthenticationResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
+import ru.hse.passwordkeeper.service.TokenCleanerService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -36,6 +46,9 @@ public class AuthenticationControllerIntegrationTest {
     @Autowired
     private PasswordRepository passwordRepository;
 
+    @Autowired
+    private TokenCleanerService tokenCleanerService;
+
     @BeforeEach
     public void setUp() {
         passwordRepository.deleteAll();
@@ -212,4 +225,173 @@ public class AuthenticationControllerIntegrationTest {
         assertNotNull(otherResponse.getBody().getName());
         assertEquals(otherResponse.getBody().getName(), dto.getName());
     }
+
+    @Test
+    public void givenRevokedTokens_whenUseOldToken_thenForbidden () {
+        ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
+                "/auth/signup",
+                new SignUpRequestDto("revoking user", "qwerty12345"),
+                JwtAuthenticationResponseDto.class
+        );
+        assertNotNull(response.getBody());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + response.getBody().getToken());
+
+        ResponseEntity<Void> revokeResponse = restTemplate.exchange(
+                "/auth/revoke", HttpMethod.POST, new HttpEntity<>(headers), Void.class);
+        assertEquals(revokeResponse.getStatusCode(), HttpStatus.NO_CONTENT);
+
+        PasswordRequestDto dto = new PasswordRequestDto()
+                .setName("example")
+                .setPassword("of record");
+
+        ResponseEntity<PasswordShortResponseDto> otherResponse = restTemplate.exchange(
+                "/passwords/", HttpMethod.POST, new HttpEntity<>(dto, headers), PasswordShortResponseDto.class);
+
+        assertEquals(otherResponse.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void givenBasicCredentials_whenRequestedTwice_thenBothAuthenticated () {
+        String username = "basic user";
+        String password = "basic password";
+
+        restTemplate.postForEntity(
+                "/auth/signup",
+                new SignUpRequestDto(username, password),
+                JwtAuthenticationResponseDto.class
+        );
+
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<String> response = restTemplate.withBasicAuth(username, password)
+                    .getForEntity("/passwords/", String.class);
+            assertEquals(response.getStatusCode(), HttpStatus.OK);
+        }
+
+        ResponseEntity<String> response = restTemplate.withBasicAuth(username, "wrong password")
+                .getForEntity("/passwords/", String.class);
+        assertEquals(response.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void givenRefreshToken_whenRefresh_thenNewTokensReceivedAndOldRefreshTokenRejected () {
+        ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
+                "/auth/signup",
+                new SignUpRequestDto("refreshing user", "qwerty12345"),
+                JwtAuthenticationResponseDto.class
+        );
+        assertNotNull(response.getBody());
+        String refreshToken = response.getBody().getRefreshToken();
+        assertNotNull(refreshToken);
+
+        ResponseEntity<JwtAuthenticationResponseDto> refreshed = restTemplate.postForEntity(
+                "/auth/refresh",
+                new RefreshTokenRequestDto(refreshToken),
+                JwtAuthenticationResponseDto.class
+        );
+        assertEquals(refreshed.getStatusCode(), HttpStatus.OK);
+        assertNotNull(refreshed.getBody());
+        assertNotNull(refreshed.getBody().getToken());
+        assertNotEquals(refreshed.getBody().getRefreshToken(), refreshToken);
+
+        ResponseEntity<String> reused = restTemplate.postForEntity(
+                "/auth/refresh",
+                new RefreshTokenRequestDto(refreshToken),
+                String.class
+        );
+        assertEquals(reused.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void givenCleanedTokens_whenRevokedRefreshTokenReused_thenWholeChainRevoked () {
+        ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
+                "/auth/signup",
+                new SignUpRequestDto("stolen token user", "qwerty12345"),
+                JwtAuthenticationResponseDto.class
+        );
+        assertNotNull(response.getBody());
+        String stolenToken = response.getBody().getRefreshToken();
+
+        ResponseEntity<JwtAuthenticationResponseDto> refreshed = restTemplate.postForEntity(
+                "/auth/refresh",
+                new RefreshTokenRequestDto(stolenToken),
+                JwtAuthenticationResponseDto.class
+        );
+        assertNotNull(refreshed.getBody());
+        String currentToken = refreshed.getBody().getRefreshToken();
+
+        tokenCleanerService.cleanTokens();
+
+        ResponseEntity<String> replayed = restTemplate.postForEntity(
+                "/auth/refresh",
+                new RefreshTokenRequestDto(stolenToken),
+                String.class
+        );
+        assertEquals(replayed.getStatusCode(), HttpStatus.FORBIDDEN);
+
+        ResponseEntity<String> afterReplay = restTemplate.postForEntity(
+                "/auth/refresh",
+                new RefreshTokenRequestDto(currentToken),
+                String.class
+        );
+        assertEquals(afterReplay.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void givenLoggedOutToken_whenUseIt_thenForbidden () {
+        ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
+                "/auth/signup",
+                new SignUpRequestDto("leaving user", "qwerty12345"),
+                JwtAuthenticationResponseDto.class
+        );
+        assertNotNull(response.getBody());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + response.getBody().getToken());
+
+        ResponseEntity<Void> logoutResponse = restTemplate.exchange("/auth/logout", HttpMethod.POST,
+                new HttpEntity<>(new RefreshTokenRequestDto(response.getBody().getRefreshToken()), headers), Void.class);
+        assertEquals(logoutResponse.getStatusCode(), HttpStatus.NO_CONTENT);
+
+        ResponseEntity<String> otherResponse = restTemplate.exchange(
+                "/passwords/", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(otherResponse.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void givenVerifyOnlyPublicKey_whenRequestJwks_thenPublicKeyPublished () {
+        ResponseEntity<Map<String, List<Map<String, Object>>>> response = restTemplate.exchange(
+                "/auth/jwks", HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        List<Map<String, Object>> keys = response.getBody().get("keys");
+        assertEquals(keys.size(), 1);
+        assertEquals(keys.get(0).get("kid"), "partner");
+        assertEquals(keys.get(0).get("kty"), "RSA");
+    }
+
+    @Test
+    public void givenTokenWithUnknownKid_whenUseIt_thenForbidden () {
+        ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
+                "/auth/signup",
+                new SignUpRequestDto("kid user", "qwerty12345"),
+                JwtAuthenticationResponseDto.class
+        );
+        assertNotNull(response.getBody());
+        String token = response.getBody().getToken();
+        String[] parts = token.split("\\.");
+        String header = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
+        assertTrue(header.contains("\"kid\":\"default\""));
+
+        String forgedHeader = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                header.replace("\"default\"", "\"retired\"").getBytes(StandardCharsets.UTF_8));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + forgedHeader + "." + parts[1] + "." + parts[2]);
+
+        ResponseEntity<String> otherResponse = restTemplate.exchange(
+                "/passwords/", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(otherResponse.getStatusCode(), HttpStatus.FORBIDDEN);
+    }
 }
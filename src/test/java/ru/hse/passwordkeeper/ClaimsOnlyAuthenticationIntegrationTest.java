@@ -0,0 +1,96 @@
+package ru.hse.passwordkeeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
+import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.dto.request.PasswordRequestDto;
+import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
+import ru.hse.passwordkeeper.dto.response.JwtAuthenticationResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
+import ru.hse.passwordkeeper.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "token.claims_only.enabled=true")
+@ActiveProfiles("test")
+public class ClaimsOnlyAuthenticationIntegrationTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordRepository passwordRepository;
+
+    @SpyBean
+    private UserService userService;
+
+    @BeforeEach
+    public void setUp() {
+        passwordRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void givenClaimsOnlyMode_whenUseToken_thenAuthenticatedWithoutLoadingUser() {
+        HttpHeaders headers = signUp("claims user");
+        clearInvocations(userService);
+
+        ResponseEntity<PasswordShortResponseDto> response = restTemplate.exchange(
+                "/passwords/", HttpMethod.POST, new HttpEntity<>(record(), headers), PasswordShortResponseDto.class);
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        verify(userService, never()).userDetailsService();
+    }
+
+    @Test
+    public void givenClaimsOnlyMode_whenRevokeTokens_thenOldTokenForbidden() {
+        HttpHeaders headers = signUp("claims revoking user");
+
+        ResponseEntity<Void> revokeResponse = restTemplate.exchange(
+                "/auth/revoke", HttpMethod.POST, new HttpEntity<>(headers), Void.class);
+        assertEquals(revokeResponse.getStatusCode(), HttpStatus.NO_CONTENT);
+        clearInvocations(userService);
+
+        ResponseEntity<PasswordShortResponseDto> response = restTemplate.exchange(
+                "/passwords/", HttpMethod.POST, new HttpEntity<>(record(), headers), PasswordShortResponseDto.class);
+
+        assertEquals(response.getStatusCode(), HttpStatus.FORBIDDEN);
+        verify(userService, never()).userDetailsService();
+    }
+
+    private HttpHeaders signUp(String login) {
+        ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
+                "/auth/signup",
+                new SignUpRequestDto(login, "qwerty12345"),
+                JwtAuthenticationResponseDto.class
+        );
+        assertNotNull(response.getBody());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + response.getBody().getToken());
+        return headers;
+    }
+
+    private static PasswordRequestDto record() {
+        return new PasswordRequestDto()
+                .setName("example")
+                .setPassword("of record");
+    }
+}
@@ -1,6 +1,10 @@
 package ru.hse.passwordkeeper;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,14 +18,21 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import ru.hse.passwordkeeper.domain.entity.DirectoryEntity;
+import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
 import ru.hse.passwordkeeper.domain.repository.DirectoryRepository;
 import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
 import ru.hse.passwordkeeper.domain.repository.UserRepository;
 import ru.hse.passwordkeeper.dto.request.DirectoryCreateRequestDto;
+import ru.hse.passwordkeeper.dto.request.LifeExpectancyRequestDto;
 import ru.hse.passwordkeeper.dto.request.PasswordRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignInRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryBreadcrumbResponseDto;
 import ru.hse.passwordkeeper.dto.response.DirectoryCreateResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryFullResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectorySummaryResponseDto;
+import ru.hse.passwordkeeper.dto.response.DirectoryTreeNodeResponseDto;
 import ru.hse.passwordkeeper.dto.response.JwtAuthenticationResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordFullResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
@@ -32,6 +43,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -48,6 +60,9 @@ public class DirectoryControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private final String ownerLogin = RandomStringUtils.random(10, true, true);
     private final String ownerPassword = RandomStringUtils.random(10, true, true);
     private final HttpHeaders headers = new HttpHeaders();
@@ -61,7 +76,10 @@ public class DirectoryControllerIntegrationTest {
     @AfterEach
     public void cleanUp() {
         passwordRepository.deleteAll();
-        directoryRepository.deleteAll();
+        List<DirectoryEntity> directories = directoryRepository.findAll();
+        directories.forEach(directory -> directory.setParent(null));
+        directoryRepository.saveAll(directories);
+        directoryRepository.deleteAll(directories);
     }
 
     @Test
@@ -238,6 +256,214 @@ public class DirectoryControllerIntegrationTest {
         assertEquals(otherResponse.getBody().size(), 1);
     }
 
+    @Test
+    public void givenNestedDirectories_whenGetTree_thenWholeHierarchyInOneResponse() {
+        String work = createDirectory(null, "work");
+        String projects = createDirectory(work, "projects");
+        String archive = createDirectory(projects, "archive");
+        String home = createDirectory(null, "home");
+
+        ResponseEntity<List<DirectoryTreeNodeResponseDto>> response = restTemplate.exchange(
+                "/dirs/tree", HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {});
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        assertEquals(response.getBody().stream().map(DirectoryTreeNodeResponseDto::getId).toList(), List.of(home, work));
+        DirectoryTreeNodeResponseDto projectsNode = response.getBody().get(1).getChildren().get(0);
+        assertEquals(projectsNode.getId(), projects);
+        assertEquals(projectsNode.getParent(), work);
+        assertEquals(projectsNode.getChildren().get(0).getId(), archive);
+        assertEquals(projectsNode.getChildren().get(0).getName(), "archive");
+
+        ResponseEntity<List<DirectoryTreeNodeResponseDto>> limited = restTemplate.exchange(
+                "/dirs/tree?depth=2", HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {});
+
+        assertEquals(limited.getStatusCode(), HttpStatus.OK);
+        assertNotNull(limited.getBody());
+        assertEquals(limited.getBody().get(1).getChildren().get(0).getId(), projects);
+        assertTrue(limited.getBody().get(1).getChildren().get(0).getChildren().isEmpty());
+    }
+
+    @Test
+    public void givenNestedDirectories_whenMoveIntoOwnDescendant_thenBadRequestAndTreeUnchanged() {
+        String work = createDirectory(null, "work");
+        String projects = createDirectory(work, "projects");
+        String archive = createDirectory(projects, "archive");
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/dirs/{id}?moveTo={moveTo}", HttpMethod.PATCH, new HttpEntity<>(headers), String.class, work, archive);
+
+        assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        assertEquals(breadcrumbIds(archive), List.of(work, projects, archive));
+    }
+
+    @Test
+    public void givenNestedDirectories_whenMoveSubtree_thenDescendantPathsFollow() {
+        String work = createDirectory(null, "work");
+        String projects = createDirectory(work, "projects");
+        String archive = createDirectory(projects, "archive");
+        String home = createDirectory(null, "home");
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/dirs/{id}?moveTo={moveTo}", HttpMethod.PATCH, new HttpEntity<>(headers), String.class, projects, home);
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertEquals(breadcrumbIds(archive), List.of(home, projects, archive));
+        assertEquals(directoryRepository.findById(archive).get().getPath(), "/" + home + "/" + projects + "/" + archive + "/");
+
+        response = restTemplate.exchange(
+                "/dirs/{id}", HttpMethod.PATCH, new HttpEntity<>(headers), String.class, projects);
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertEquals(breadcrumbIds(archive), List.of(projects, archive));
+    }
+
+    @Test
+    public void givenDirectoryWithContent_whenDelete_thenOnlyRecursiveDeleteRemovesSubtree() {
+        String work = createDirectory(null, "work");
+        String projects = createDirectory(work, "projects");
+        String archive = createDirectory(projects, "archive");
+        String home = createDirectory(null, "home");
+        UUID shared = createRecord(archive, "old");
+        UUID kept = createRecord(home, "kept");
+        restTemplate.exchange("/passwords/{id}/share", HttpMethod.POST,
+                new HttpEntity<>(new LifeExpectancyRequestDto(), headers), String.class, shared);
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/dirs/{id}", HttpMethod.DELETE, new HttpEntity<>(headers), String.class, work);
+        assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+
+        response = restTemplate.exchange(
+                "/dirs/{id}?recursive=true", HttpMethod.DELETE, new HttpEntity<>(headers), String.class, work);
+        assertEquals(response.getStatusCode(), HttpStatus.NO_CONTENT);
+
+        assertTrue(directoryRepository.findById(work).isEmpty());
+        assertTrue(directoryRepository.findById(archive).isEmpty());
+        assertTrue(passwordRepository.findById(shared).isEmpty());
+        assertTrue(passwordRepository.findById(kept).isPresent());
+        assertTrue(directoryRepository.findById(home).isPresent());
+
+        response = restTemplate.exchange(
+                "/dirs/{id}?recursive=true", HttpMethod.DELETE, new HttpEntity<>(headers), String.class, work);
+        assertEquals(response.getStatusCode(), HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void givenDirectoryWithContent_whenCopy_thenSubtreeAndRecordsDuplicated() {
+        String work = createDirectory(null, "work");
+        String projects = createDirectory(work, "projects");
+        String archive = createDirectory(projects, "archive");
+        String home = createDirectory(null, "home");
+        createRecord(projects, "current");
+        createRecord(archive, "old");
+
+        ResponseEntity<DirectoryFullResponseDto> response = restTemplate.exchange(
+                "/dirs/{id}/copy?copyTo={to}", HttpMethod.POST, new HttpEntity<>(headers),
+                DirectoryFullResponseDto.class, projects, home);
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        assertEquals(response.getBody().getParent(), home);
+        String copy = response.getBody().getId();
+
+        ResponseEntity<List<DirectoryTreeNodeResponseDto>> tree = restTemplate.exchange(
+                "/dirs/tree", HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {});
+        assertNotNull(tree.getBody());
+        DirectoryTreeNodeResponseDto copiedNode = tree.getBody().get(0).getChildren().get(0);
+        assertEquals(copiedNode.getId(), copy);
+        assertEquals(copiedNode.getName(), "projects");
+        String copiedArchive = copiedNode.getChildren().get(0).getId();
+        assertEquals(breadcrumbIds(copiedArchive), List.of(home, copy, copiedArchive));
+
+        ResponseEntity<List<PasswordShortResponseDto>> records = restTemplate.exchange(
+                "/passwords/?directoryId=" + copiedArchive, HttpMethod.GET, new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {});
+        assertNotNull(records.getBody());
+        assertEquals(records.getBody().stream().map(PasswordShortResponseDto::getName).toList(), List.of("old"));
+        assertEquals(passwordRepository.count(), 4);
+    }
+
+    @Test
+    public void givenDirectoryWithRecords_whenCopy_thenRecordsCopiedWithoutLoadingThem() {
+        String work = createDirectory(null, "work");
+        String archive = createDirectory(work, "archive");
+        createRecord(work, "mail");
+        createRecord(archive, "old");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResponseEntity<DirectoryFullResponseDto> response = restTemplate.exchange(
+                "/dirs/{id}/copy", HttpMethod.POST, new HttpEntity<>(headers), DirectoryFullResponseDto.class, work);
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        assertNull(response.getBody().getParent());
+        EntityStatistics records = statistics.getEntityStatistics(PasswordRecord.class.getName());
+        assertEquals(records.getLoadCount(), 0L);
+        assertEquals(records.getFetchCount(), 0L);
+
+        ResponseEntity<List<PasswordShortResponseDto>> copied = restTemplate.exchange(
+                "/passwords/?directoryId=" + response.getBody().getId(), HttpMethod.GET, new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {});
+        assertNotNull(copied.getBody());
+        assertEquals(copied.getBody().size(), 1);
+        ResponseEntity<PasswordFullResponseDto> full = restTemplate.exchange("/passwords/{id}", HttpMethod.GET,
+                new HttpEntity<>(headers), PasswordFullResponseDto.class, copied.getBody().get(0).getId());
+        assertNotNull(full.getBody());
+        assertEquals(full.getBody().getName(), "mail");
+        assertEquals(full.getBody().getPassword(), "password");
+        assertEquals(passwordRepository.count(), 4);
+    }
+
+    @Test
+    public void givenDirectoriesWithContent_whenListWithCounts_thenChildAndRecordCountsPerDirectory() {
+        String work = createDirectory(null, "work");
+        createDirectory(work, "projects");
+        createDirectory(work, "archive");
+        createRecord(work, "mail");
+        String home = createDirectory(null, "home");
+        createRecord(home, "bank");
+        createRecord(home, "router");
+        createRecord(home, "tv");
+
+        ResponseEntity<List<DirectorySummaryResponseDto>> response = restTemplate.exchange(
+                "/dirs?withCounts=true", HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {});
+
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertEquals(response.getBody(), List.of(
+                new DirectorySummaryResponseDto(home, "home", 0, 3),
+                new DirectorySummaryResponseDto(work, "work", 2, 1)));
+    }
+
+    private UUID createRecord(String dir, String name) {
+        PasswordRequestDto dto = new PasswordRequestDto().setName(name).setPassword("password").setDir(dir);
+        ResponseEntity<PasswordShortResponseDto> response = restTemplate.exchange(
+                "/passwords/", HttpMethod.POST, new HttpEntity<>(dto, headers), PasswordShortResponseDto.class);
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        return response.getBody().getId();
+    }
+
+    private List<String> breadcrumbIds(String id) {
+        ResponseEntity<List<DirectoryBreadcrumbResponseDto>> response = restTemplate.exchange(
+                "/dirs/{id}/breadcrumbs", HttpMethod.GET, new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {}, id);
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        return response.getBody().stream().map(DirectoryBreadcrumbResponseDto::getId).toList();
+    }
+
+    private String createDirectory(String parent, String name) {
+        DirectoryCreateRequestDto request = new DirectoryCreateRequestDto();
+        request.setId(parent);
+        request.setName(name);
+        ResponseEntity<DirectoryCreateResponseDto> response = restTemplate.exchange(
+                "/dirs", HttpMethod.POST, new HttpEntity<>(request, headers), DirectoryCreateResponseDto.class);
+        assertEquals(response.getStatusCode(), HttpStatus.OK);
+        assertNotNull(response.getBody());
+        return response.getBody().getId();
+    }
+
     private String obtainJwtToken(String username, String password) {
         if (userRepository.findByLogin(username) != null) {
             ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
@@ -0,0 +1,62 @@
+package ru.hse.passwordkeeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import ru.hse.passwordkeeper.domain.entity.Role;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
+import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.dto.request.SignInRequestDto;
+import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A one millisecond hashing timeout makes every bcrypt call overrun, so each login attempt is shed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"hashing.pool_size=1", "hashing.queue_capacity=0", "hashing.timeout=1"})
+@ActiveProfiles("test")
+public class HashingOverloadIntegrationTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void givenOverloadedHashing_whenSignUp_thenServiceUnavailableWithRetryAfter() {
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/auth/signup", new SignUpRequestDto("overloaded user", "qwerty12345"), String.class);
+
+        assertEquals(response.getStatusCode(), HttpStatus.SERVICE_UNAVAILABLE);
+        assertEquals(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "1");
+    }
+
+    @Test
+    public void givenOverloadedHashing_whenSignIn_thenServiceUnavailableWithRetryAfter() {
+        UserEntity user = new UserEntity();
+        user.setLogin("overloaded user");
+        user.setHashedPassword(new BCryptPasswordEncoder().encode("qwerty12345"));
+        user.setUserRole(Role.ROLE_USER);
+        userRepository.save(user);
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/auth/signin", new SignInRequestDto("overloaded user", "qwerty12345"), String.class);
+
+        assertEquals(response.getStatusCode(), HttpStatus.SERVICE_UNAVAILABLE);
+        assertEquals(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "1");
+    }
+}
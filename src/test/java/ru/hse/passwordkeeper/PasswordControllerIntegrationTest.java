@@ -5,6 +5,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,23 +16,35 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import ru.hse.passwordkeeper.domain.entity.DirectoryEntity;
 import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
+import ru.hse.passwordkeeper.domain.repository.DirectoryRepository;
 import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
 import ru.hse.passwordkeeper.domain.repository.UserRepository;
+import ru.hse.passwordkeeper.dto.request.PasswordBatchUpdateRequestDto;
 import ru.hse.passwordkeeper.dto.request.PasswordRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignInRequestDto;
 import ru.hse.passwordkeeper.dto.request.SignUpRequestDto;
 import ru.hse.passwordkeeper.dto.response.JwtAuthenticationResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordBatchItemResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordCursorPageResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordImportResponseDto;
+import ru.hse.passwordkeeper.dto.response.PasswordSearchResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordShortResponseDto;
 import ru.hse.passwordkeeper.dto.response.PasswordFullResponseDto;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -47,6 +60,9 @@ class PasswordControllerIntegrationTest {
 
 	@Autowired
 	private UserRepository userRepository;
+
+	@Autowired
+	private DirectoryRepository directoryRepository;
 	private final HttpHeaders headers = new HttpHeaders();
 
 	private final String ownerLogin = RandomStringUtils.random(10, true, true);
@@ -60,6 +76,14 @@ class PasswordControllerIntegrationTest {
 		headers.set("Authorization", "Bearer " + token);
 	}
 
+	@AfterEach
+	public void cleanUp() {
+		repository.deleteAll();
+		List<DirectoryEntity> directories = directoryRepository.findAll();
+		directoryRepository.deleteAll(directories.stream().filter(d -> d.getParent() != null).toList());
+		directoryRepository.deleteAll(directories.stream().filter(d -> d.getParent() == null).toList());
+	}
+
 	@Test
 	public void whenCreateRecord_thenSavedAndStatus200() {
 		PasswordRequestDto dto = new PasswordRequestDto()
@@ -325,6 +349,329 @@ class PasswordControllerIntegrationTest {
 	}
 
 
+	@Test
+	public void givenBatch_whenCreate_thenValidItemsSavedAndResultsPerItem() {
+		List<PasswordRequestDto> batch = List.of(
+				new PasswordRequestDto().setName("first").setPassword("one"),
+				new PasswordRequestDto().setName("no password"),
+				new PasswordRequestDto().setName("missing dir").setPassword("two").setDir("unknown"),
+				new PasswordRequestDto().setName("second").setPassword("three")
+		);
+
+		ResponseEntity<List<PasswordBatchItemResponseDto>> response = restTemplate.exchange(
+				"/passwords/batch", HttpMethod.POST, new HttpEntity<>(batch, headers),
+				new ParameterizedTypeReference<>() {});
+
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		assertNotNull(response.getBody());
+		assertEquals(response.getBody().stream().map(PasswordBatchItemResponseDto::getStatus).toList(),
+				List.of(201, 400, 404, 201));
+		assertNotNull(response.getBody().get(1).getErrors().get("password"));
+		assertEquals(repository.count(), 2);
+		assertTrue(repository.findById(response.getBody().get(3).getId()).isPresent());
+	}
+
+	@Test
+	public void givenExistingRecords_whenBatchUpdate_thenUpdatedAndMissingReported() {
+		PasswordRecord first = new PasswordRecord();
+		first.setName("NAME");
+		first.setPassword("COCONUT");
+		first.setOwner(userRepository.findByLogin(ownerLogin));
+		PasswordRecord record = repository.save(first);
+
+		List<PasswordBatchUpdateRequestDto> batch = List.of(
+				(PasswordBatchUpdateRequestDto) new PasswordBatchUpdateRequestDto().setId(record.getId())
+						.setName("renamed").setLogin("login"),
+				new PasswordBatchUpdateRequestDto().setId(UUID.randomUUID())
+		);
+
+		ResponseEntity<List<PasswordBatchItemResponseDto>> response = restTemplate.exchange(
+				"/passwords/batch", HttpMethod.PUT, new HttpEntity<>(batch, headers),
+				new ParameterizedTypeReference<>() {});
+
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		assertNotNull(response.getBody());
+		assertEquals(response.getBody().stream().map(PasswordBatchItemResponseDto::getStatus).toList(),
+				List.of(200, 404));
+		PasswordRecord updated = repository.findById(record.getId()).orElseThrow();
+		assertEquals(updated.getName(), "renamed");
+		assertEquals(updated.getPassword(), "COCONUT");
+		assertEquals(updated.getLogin(), "login");
+	}
+
+	@Test
+	public void givenOverlongFieldsAndNullItems_whenBatch_thenRejectedPerItem() {
+		PasswordRecord first = new PasswordRecord();
+		first.setName("NAME");
+		first.setPassword("COCONUT");
+		first.setOwner(userRepository.findByLogin(ownerLogin));
+		PasswordRecord record = repository.save(first);
+		String overlong = "x".repeat(256);
+
+		List<PasswordRequestDto> createBatch = Arrays.asList(
+				new PasswordRequestDto().setName(overlong).setPassword("one"),
+				null,
+				new PasswordRequestDto().setName("fits").setPassword("two")
+		);
+		ResponseEntity<List<PasswordBatchItemResponseDto>> created = restTemplate.exchange(
+				"/passwords/batch", HttpMethod.POST, new HttpEntity<>(createBatch, headers),
+				new ParameterizedTypeReference<>() {});
+
+		assertEquals(created.getStatusCode(), HttpStatus.OK);
+		assertNotNull(created.getBody());
+		assertEquals(created.getBody().stream().map(PasswordBatchItemResponseDto::getStatus).toList(),
+				List.of(400, 400, 201));
+		assertNotNull(created.getBody().get(0).getErrors().get("name"));
+		assertEquals(repository.count(), 2);
+
+		List<PasswordBatchUpdateRequestDto> updateBatch = Arrays.asList(
+				(PasswordBatchUpdateRequestDto) new PasswordBatchUpdateRequestDto().setId(record.getId())
+						.setUrl(overlong),
+				null
+		);
+		ResponseEntity<List<PasswordBatchItemResponseDto>> updated = restTemplate.exchange(
+				"/passwords/batch", HttpMethod.PUT, new HttpEntity<>(updateBatch, headers),
+				new ParameterizedTypeReference<>() {});
+
+		assertEquals(updated.getStatusCode(), HttpStatus.OK);
+		assertNotNull(updated.getBody());
+		assertEquals(updated.getBody().stream().map(PasswordBatchItemResponseDto::getStatus).toList(),
+				List.of(400, 400));
+		assertNotNull(updated.getBody().get(0).getErrors().get("url"));
+		assertNull(repository.findById(record.getId()).orElseThrow().getUrl());
+	}
+
+	@Test
+	public void givenRecords_whenExport_thenOneJsonLinePerRecord() {
+		List<PasswordRequestDto> batch = List.of(
+				new PasswordRequestDto().setName("first").setPassword("one").setUrl("url"),
+				new PasswordRequestDto().setName("second").setPassword("two")
+		);
+		restTemplate.exchange("/passwords/batch", HttpMethod.POST, new HttpEntity<>(batch, headers), String.class);
+
+		ResponseEntity<String> response = restTemplate.exchange(
+				"/passwords/export", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		assertNotNull(response.getBody());
+		List<PasswordFullResponseDto> exported = response.getBody().lines()
+				.map(line -> new Gson().fromJson(line, PasswordFullResponseDto.class))
+				.toList();
+		assertEquals(exported.size(), 2);
+		assertTrue(exported.stream().anyMatch(dto -> "one".equals(dto.getPassword()) && "url".equals(dto.getUrl())));
+		assertTrue(exported.stream().anyMatch(dto -> "two".equals(dto.getPassword())));
+	}
+
+	@Test
+	public void givenCsv_whenImport_thenValidRowsSavedAndDirectoriesCreatedOnce() {
+		String csv = """
+				name,login,password,url,path
+				"db, primary",admin,"p""1",,Work/Servers
+				mail,me,secret,https://mail,Work
+				broken,me,,,
+				replica,admin,p2,,Work/Servers
+				""";
+		HttpHeaders csvHeaders = new HttpHeaders(headers);
+		csvHeaders.setContentType(MediaType.parseMediaType("text/csv"));
+
+		ResponseEntity<PasswordImportResponseDto> response = restTemplate.exchange(
+				"/passwords/import", HttpMethod.POST, new HttpEntity<>(csv, csvHeaders), PasswordImportResponseDto.class);
+
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		assertNotNull(response.getBody());
+		assertEquals(response.getBody().getImported(), 3);
+		assertEquals(response.getBody().getFailed(), 1);
+		assertEquals(response.getBody().getDirectoriesCreated(), 2);
+		assertEquals(response.getBody().getErrors().get(0).getIndex(), 2);
+		PasswordRecord imported = repository.findAll().stream()
+				.filter(r -> "db, primary".equals(r.getName())).findFirst().orElseThrow();
+		assertEquals(imported.getPassword(), "p\"1");
+		assertEquals(directoryRepository.findById(imported.getDirectory().getId()).orElseThrow().getName(), "Servers");
+	}
+
+	@Test
+	public void givenNdjsonWithMalformedLine_whenImport_thenOtherLinesSaved() {
+		String ndjson = """
+				{"name": "first", "password": "one"}
+				{"name": "broken"
+				{"name": "second", "password": "two", "path": "Personal"}
+				""";
+		HttpHeaders ndjsonHeaders = new HttpHeaders(headers);
+		ndjsonHeaders.setContentType(MediaType.APPLICATION_NDJSON);
+
+		ResponseEntity<PasswordImportResponseDto> response = restTemplate.exchange(
+				"/passwords/import", HttpMethod.POST, new HttpEntity<>(ndjson, ndjsonHeaders),
+				PasswordImportResponseDto.class);
+
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		assertNotNull(response.getBody());
+		assertEquals(response.getBody().getImported(), 2);
+		assertEquals(response.getBody().getFailed(), 1);
+		assertEquals(response.getBody().getDirectoriesCreated(), 1);
+		assertEquals(repository.count(), 2);
+	}
+
+	@Test
+	public void givenNdjsonWithUnsavableRows_whenImport_thenOnlyThoseRowsRejected() {
+		String overlong = "x".repeat(300);
+		String tooDeep = String.join("/", Collections.nCopies(80, "d"));
+		String ndjson = String.join("\n",
+				"{\"name\": \"first\", \"password\": \"one\"}",
+				"null",
+				"{\"name\": \"" + overlong + "\", \"password\": \"two\"}",
+				"{\"name\": \"long dir\", \"password\": \"three\", \"path\": \"Work/" + overlong + "\"}",
+				"{\"name\": \"deep\", \"password\": \"four\", \"path\": \"" + tooDeep + "\"}",
+				"{\"name\": \"after\", \"password\": \"five\", \"path\": \"Work\"}");
+		HttpHeaders ndjsonHeaders = new HttpHeaders(headers);
+		ndjsonHeaders.setContentType(MediaType.APPLICATION_NDJSON);
+
+		ResponseEntity<PasswordImportResponseDto> response = restTemplate.exchange(
+				"/passwords/import", HttpMethod.POST, new HttpEntity<>(ndjson, ndjsonHeaders),
+				PasswordImportResponseDto.class);
+
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		assertNotNull(response.getBody());
+		assertEquals(response.getBody().getImported(), 2);
+		assertEquals(response.getBody().getFailed(), 4);
+		assertEquals(response.getBody().getDirectoriesCreated(), 1);
+		assertEquals(response.getBody().getErrors().stream().map(PasswordBatchItemResponseDto::getIndex).sorted().toList(),
+				List.of(1, 2, 3, 4));
+		assertEquals(repository.findAll().stream().map(PasswordRecord::getName).sorted().toList(),
+				List.of("after", "first"));
+		assertEquals(directoryRepository.count(), 1);
+	}
+
+	@Test
+	public void givenRecords_whenScrollWithCursor_thenEveryRecordSeenOnceInNameOrder() {
+		List<PasswordRequestDto> batch = List.of(
+				new PasswordRequestDto().setName("c").setPassword("1"),
+				new PasswordRequestDto().setName("a").setPassword("2"),
+				new PasswordRequestDto().setName("b").setPassword("3"),
+				new PasswordRequestDto().setName("a").setPassword("4"),
+				new PasswordRequestDto().setName("d").setPassword("5")
+		);
+		restTemplate.exchange("/passwords/batch", HttpMethod.POST, new HttpEntity<>(batch, headers), String.class);
+
+		List<String> names = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			ResponseEntity<PasswordCursorPageResponseDto> response = restTemplate.exchange(
+					"/passwords/cursor?size=2" + (cursor == null ? "" : "&cursor=" + cursor),
+					HttpMethod.GET, new HttpEntity<>(headers), PasswordCursorPageResponseDto.class);
+			assertEquals(response.getStatusCode(), HttpStatus.OK);
+			assertNotNull(response.getBody());
+			response.getBody().getItems().forEach(item -> names.add(item.getName()));
+			cursor = response.getBody().getNext();
+			pages++;
+		} while (cursor != null);
+
+		assertEquals(pages, 3);
+		assertEquals(names, List.of("a", "a", "b", "c", "d"));
+	}
+
+	@Test
+	public void givenMalformedCursor_whenScroll_thenBadRequest() {
+		ResponseEntity<String> response = restTemplate.exchange(
+				"/passwords/cursor?cursor=???", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+		assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	public void givenRecords_whenSearch_thenMatchesByNameOrUrlAndFollowsUpdates() {
+		List<PasswordRequestDto> batch = List.of(
+				new PasswordRequestDto().setName("Mail").setPassword("1").setUrl("https://mail.example.org"),
+				new PasswordRequestDto().setName("Bank").setPassword("2").setUrl("https://online.bank.test"),
+				new PasswordRequestDto().setName("Work mailbox").setPassword("3")
+		);
+		restTemplate.exchange("/passwords/batch", HttpMethod.POST, new HttpEntity<>(batch, headers), String.class);
+
+		assertEquals(searchNames("MAIL"), List.of("Mail", "Work mailbox"));
+		assertEquals(searchNames("online"), List.of("Bank"));
+		assertEquals(searchNames("il"), List.of("Mail", "Work mailbox"));
+
+		PasswordShortResponseDto created = restTemplate.exchange("/passwords/", HttpMethod.POST,
+				new HttpEntity<>(new PasswordRequestDto().setName("Hosting").setPassword("4"), headers),
+				PasswordShortResponseDto.class).getBody();
+		assertNotNull(created);
+		assertEquals(searchNames("host"), List.of("Hosting"));
+
+		restTemplate.exchange("/passwords/{id}", HttpMethod.PUT,
+				new HttpEntity<>(new PasswordRequestDto().setName("Cloud").setUrl("https://cloud.test"), headers),
+				PasswordFullResponseDto.class, created.getId());
+		assertEquals(searchNames("host"), List.of());
+		assertEquals(searchNames("cloud"), List.of("Cloud"));
+	}
+
+	@Test
+	public void givenUnchangedVault_whenListWithEtag_thenNotModifiedUntilMutation() {
+		ResponseEntity<String> first = restTemplate.exchange(
+				"/passwords/", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+		String etag = first.getHeaders().getETag();
+		assertEquals(first.getStatusCode(), HttpStatus.OK);
+		assertNotNull(etag);
+
+		HttpHeaders conditional = new HttpHeaders();
+		conditional.putAll(headers);
+		conditional.setIfNoneMatch(etag);
+		ResponseEntity<String> second = restTemplate.exchange(
+				"/passwords/", HttpMethod.GET, new HttpEntity<>(conditional), String.class);
+		assertEquals(second.getStatusCode(), HttpStatus.NOT_MODIFIED);
+		assertNull(second.getBody());
+
+		restTemplate.exchange("/passwords/", HttpMethod.POST,
+				new HttpEntity<>(new PasswordRequestDto().setName("new").setPassword("1"), headers), String.class);
+
+		ResponseEntity<String> third = restTemplate.exchange(
+				"/passwords/", HttpMethod.GET, new HttpEntity<>(conditional), String.class);
+		assertEquals(third.getStatusCode(), HttpStatus.OK);
+		assertTrue(third.getBody().contains("new"));
+		assertNotEquals(third.getHeaders().getETag(), etag);
+	}
+
+	@Test
+	public void givenMutation_whenList_thenEtagFollowsPersistedVaultVersion() {
+		long before = userRepository.findById(ownerLogin).get().getVaultVersion();
+
+		restTemplate.exchange("/passwords/", HttpMethod.POST,
+				new HttpEntity<>(new PasswordRequestDto().setName("versioned").setPassword("1"), headers), String.class);
+
+		long after = userRepository.findById(ownerLogin).get().getVaultVersion();
+		assertEquals(after, before + 1);
+		ResponseEntity<String> listing = restTemplate.exchange(
+				"/passwords/", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+		assertEquals(listing.getHeaders().getETag(), "\"" + Long.toHexString(after) + "\"");
+	}
+
+	@Test
+	public void givenRecord_whenDelete_thenGoneFromListingAndSearch() {
+		PasswordShortResponseDto created = restTemplate.exchange("/passwords/", HttpMethod.POST,
+				new HttpEntity<>(new PasswordRequestDto().setName("Obsolete").setPassword("1"), headers),
+				PasswordShortResponseDto.class).getBody();
+		assertNotNull(created);
+		assertEquals(searchNames("obsolete"), List.of("Obsolete"));
+
+		ResponseEntity<Void> response = restTemplate.exchange(
+				"/passwords/{id}", HttpMethod.DELETE, new HttpEntity<>(headers), Void.class, created.getId());
+		assertEquals(response.getStatusCode(), HttpStatus.NO_CONTENT);
+		assertTrue(repository.findById(created.getId()).isEmpty());
+		assertEquals(searchNames("obsolete"), List.of());
+
+		response = restTemplate.exchange(
+				"/passwords/{id}", HttpMethod.DELETE, new HttpEntity<>(headers), Void.class, created.getId());
+		assertEquals(response.getStatusCode(), HttpStatus.NOT_FOUND);
+	}
+
+	private List<String> searchNames(String query) {
+		ResponseEntity<PasswordSearchResponseDto[]> response = restTemplate.exchange(
+				"/passwords/search?q={q}", HttpMethod.GET, new HttpEntity<>(headers),
+				PasswordSearchResponseDto[].class, query);
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		assertNotNull(response.getBody());
+		return Arrays.stream(response.getBody()).map(PasswordSearchResponseDto::getName).toList();
+	}
+
 	private String obtainJwtToken(String username, String password) {
 		if (userRepository.findByLogin(username) != null) {
 			ResponseEntity<JwtAuthenticationResponseDto> response = restTemplate.postForEntity(
@@ -0,0 +1,80 @@
+package ru.hse.passwordkeeper.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.hse.passwordkeeper.exception.HashingOverloadedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedPasswordEncoderTest {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BoundedPasswordEncoder encoder =
+            new BoundedPasswordEncoder(new BlockingEncoder(), 1, 0, 10_000, meterRegistry);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    public void givenBusyPoolWithoutQueue_whenEncode_thenRejectedWithoutWaiting() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        assertThrows(HashingOverloadedException.class, () -> encoder.encode("second"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 1000);
+        assertEquals(meterRegistry.counter("password_hashing_rejected").count(), 1.0);
+
+        release.countDown();
+        assertEquals(first.get(5, TimeUnit.SECONDS), "encoded first");
+    }
+
+    @Test
+    public void givenSlowHash_whenTimeoutExpires_thenRejected() {
+        BoundedPasswordEncoder impatient =
+                new BoundedPasswordEncoder(new BlockingEncoder(), 1, 0, 50, meterRegistry);
+        try {
+            assertThrows(HashingOverloadedException.class, () -> impatient.matches("raw", "encoded"));
+            assertEquals(meterRegistry.counter("password_hashing_rejected").count(), 1.0);
+        } finally {
+            impatient.shutdown();
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "encoded " + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return true;
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
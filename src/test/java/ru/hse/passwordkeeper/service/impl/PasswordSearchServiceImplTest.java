@@ -0,0 +1,62 @@
+package ru.hse.passwordkeeper.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.hse.passwordkeeper.domain.entity.PasswordRecord;
+import ru.hse.passwordkeeper.domain.entity.UserEntity;
+import ru.hse.passwordkeeper.domain.repository.PasswordRepository;
+import ru.hse.passwordkeeper.dto.response.PasswordSearchResponseDto;
+import ru.hse.passwordkeeper.service.UserService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PasswordSearchServiceImplTest {
+    @Test
+    public void givenIndexBeingBuilt_whenRecordSaved_thenUpdateNotLost() throws Exception {
+        CountDownLatch buildStarted = new CountDownLatch(1);
+        CountDownLatch releaseBuild = new CountDownLatch(1);
+        PasswordRepository repository = mock(PasswordRepository.class);
+        when(repository.findSearchEntries(any())).thenAnswer(invocation -> {
+            buildStarted.countDown();
+            releaseBuild.await(5, TimeUnit.SECONDS);
+            return List.of(new PasswordSearchResponseDto(UUID.randomUUID(), "old mail", null, null));
+        });
+        PasswordSearchServiceImpl service =
+                new PasswordSearchServiceImpl(repository, mock(UserService.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "maxIndexedUsers", 10L);
+        ReflectionTestUtils.setField(service, "indexTtl", 600000L);
+        service.setUp();
+        UserEntity owner = new UserEntity();
+        owner.setLogin("owner");
+
+        CompletableFuture<List<PasswordSearchResponseDto>> firstSearch =
+                CompletableFuture.supplyAsync(() -> service.search(owner, "mail", 10));
+        assertTrue(buildStarted.await(5, TimeUnit.SECONDS));
+
+        // Saved after the build query read its rows, committed before the build finished
+        PasswordRecord record = new PasswordRecord();
+        record.setName("new mail");
+        Thread writer = new Thread(() -> service.indexRecord("owner", record));
+        writer.start();
+        while (writer.getState() == Thread.State.NEW || writer.getState() == Thread.State.RUNNABLE) {
+            Thread.onSpinWait();
+        }
+        releaseBuild.countDown();
+        writer.join(5000);
+
+        firstSearch.get(5, TimeUnit.SECONDS);
+        assertEquals(service.search(owner, "mail", 10).stream().map(PasswordSearchResponseDto::getName).toList(),
+                List.of("new mail", "old mail"));
+    }
+}
@@ -0,0 +1,82 @@
+package ru.hse.passwordkeeper.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdGeneratorTest {
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Test
+    public void givenTimeOrderedGenerator_whenNextUuid_thenVersion7AndStrictlyIncreasing() {
+        long before = System.currentTimeMillis();
+        UUID previous = generator.nextUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = generator.nextUuid();
+            assertEquals(next.version(), 7);
+            assertEquals(next.variant(), 2);
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+        assertTrue((previous.getMostSignificantBits() >>> 16) >= before);
+    }
+
+    @Test
+    public void givenTimeOrderedGenerator_whenNextDirectoryId_thenFixedLengthAndSortedByCreation() {
+        String previous = generator.nextDirectoryId();
+        for (int i = 0; i < 10_000; i++) {
+            String next = generator.nextDirectoryId();
+            assertEquals(next.length(), CrockfordBase32.UUID_LENGTH);
+            assertTrue(next.matches("[0-9A-HJKMNP-TV-Z]+"));
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void givenTimeOrderedGenerator_whenNextTokenUuid_thenFullyRandom() {
+        assertEquals(generator.nextTokenUuid().version(), 4);
+    }
+
+    @Test
+    public void givenConcurrentCallers_whenNextUuid_thenNoDuplicates() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(generator.nextUuid());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(seen.size(), threads * perThread);
+    }
+
+    @Test
+    public void givenKnownValue_whenEncode_thenCrockfordBase32() {
+        assertEquals(CrockfordBase32.encode(new UUID(0, 0)), "00000000000000000000000000");
+        assertEquals(CrockfordBase32.encode(new UUID(0, 32)), "00000000000000000000000010");
+        assertEquals(CrockfordBase32.encode(new UUID(-1, -1)), "7ZZZZZZZZZZZZZZZZZZZZZZZZZ");
+    }
+}
@@ -0,0 +1,35 @@
+package ru.hse.passwordkeeper.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+    @Test
+    public void givenFullBucket_whenBurstExceedsCapacity_thenRejectedUntilRefill() {
+        TokenBucket bucket = new TokenBucket(3, 0.2);
+
+        assertEquals(bucket.nanosUntilAvailable(), 0L);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        long wait = bucket.nanosUntilAvailable();
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(4) && wait <= TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void givenFastRefill_whenWaitedOut_thenAcquiredAgain() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 50);
+
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        TimeUnit.NANOSECONDS.sleep(bucket.nanosUntilAvailable() + TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(bucket.tryAcquire());
+    }
+}